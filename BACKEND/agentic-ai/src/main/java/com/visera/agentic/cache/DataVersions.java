@@ -0,0 +1,71 @@
+package com.visera.agentic.cache;
+
+import com.visera.agentic.config.QueryPriority;
+import com.visera.agentic.config.ReadOnlyDataSources;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Local copy of the per-table write counters the backend keeps in
+ * data_change_versions, refreshed on a fixed delay so cache lookups never
+ * query the database. A table without a row has never been written since
+ * tracking started and reads as version 0. The counters are read from the
+ * same read-only pool as the cached results, so on a replica both lag alike.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataVersions {
+
+	private static final String VERSIONS_SQL = "SELECT table_name, version FROM data_change_versions";
+
+	private final ReadOnlyDataSources dataSources;
+
+	// null while the versions are unknown (not polled yet, or the last poll failed)
+	private volatile Map<String, Long> versions;
+	private boolean failureLogged;
+
+	@Scheduled(fixedDelayString = "${ai.result-cache.poll-interval:PT1S}")
+	public void refresh() {
+		try {
+			Map<String, Long> latest = new HashMap<>();
+			dataSources.jdbcTemplate(QueryPriority.INTERACTIVE).query(VERSIONS_SQL, row -> {
+				latest.put(row.getString(1).toLowerCase(Locale.ROOT), row.getLong(2));
+			});
+			if (failureLogged) {
+				log.info("Data change versions readable again, result caching resumed");
+				failureLogged = false;
+			}
+			versions = Map.copyOf(latest);
+		} catch (DataAccessException e) {
+			versions = null;
+			if (!failureLogged) {
+				log.warn("Cannot read data change versions, result caching paused: {}", e.getMessage());
+				failureLogged = true;
+			}
+		}
+	}
+
+	/**
+	 * Current versions of the given tables, or null when they are unknown.
+	 */
+	public Map<String, Long> snapshot(Set<String> tables) {
+		Map<String, Long> current = versions;
+		if (current == null) {
+			return null;
+		}
+		Map<String, Long> snapshot = new HashMap<>();
+		for (String table : tables) {
+			snapshot.put(table, current.getOrDefault(table, 0L));
+		}
+		return snapshot;
+	}
+}
@@ -0,0 +1,95 @@
+package com.visera.agentic.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.visera.agentic.util.SQLValidator.ValidatedSql;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers to validated SQL, keyed by the statement as re-rendered by
+ * {@link com.visera.agentic.util.SQLValidator}, so differently formatted
+ * translations of the same query share an entry.
+ *
+ * Each entry remembers the {@link DataVersions} of the tables it read and is
+ * served only while all of them are unchanged: a backend write to any of those
+ * tables makes it stale within one poll interval. The versions are taken
+ * before the query runs, so a write that lands during execution also counts.
+ * While versions are unknown nothing is cached or served.
+ */
+@Slf4j
+@Component
+public class ResultCache {
+
+	private record Entry(String answer, Map<String, Long> versions) {
+	}
+
+	private final DataVersions dataVersions;
+	private final Cache<String, Entry> answers;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong staleHits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	public ResultCache(
+			DataVersions dataVersions,
+			@Value("${ai.result-cache.max-chars:20000000}") long maxChars,
+			@Value("${ai.result-cache.ttl:PT10M}") Duration ttl) {
+		this.dataVersions = dataVersions;
+		// Weighed by size: a 1000-row answer costs far more memory than a count
+		this.answers = Caffeine.newBuilder()
+				.maximumWeight(maxChars)
+				.weigher((String sql, Entry entry) -> sql.length() + entry.answer().length())
+				.expireAfterWrite(ttl)
+				.build();
+	}
+
+	public Optional<String> lookup(ValidatedSql query) {
+		Entry entry = answers.getIfPresent(query.sql());
+		if (entry != null) {
+			if (entry.versions().equals(dataVersions.snapshot(query.tables()))) {
+				hits.incrementAndGet();
+				return Optional.of(entry.answer());
+			}
+			answers.asMap().remove(query.sql(), entry);
+			staleHits.incrementAndGet();
+			log.debug("Cached result is stale for: {}", query.sql());
+		}
+		misses.incrementAndGet();
+		return Optional.empty();
+	}
+
+	/**
+	 * Versions to store with an answer; take them before executing the query.
+	 * Returns null when the answer cannot be cached.
+	 */
+	public Map<String, Long> versionsBefore(ValidatedSql query) {
+		return dataVersions.snapshot(query.tables());
+	}
+
+	public void put(ValidatedSql query, Map<String, Long> versions, String answer) {
+		if (versions != null) {
+			answers.put(query.sql(), new Entry(answer, versions));
+		}
+	}
+
+	public void clear() {
+		answers.invalidateAll();
+	}
+
+	public Map<String, Object> stats() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("entries", answers.estimatedSize());
+		stats.put("hits", hits.get());
+		stats.put("staleHits", staleHits.get());
+		stats.put("misses", misses.get());
+		return stats;
+	}
+}
@@ -0,0 +1,95 @@
+package com.visera.agentic.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.visera.agentic.service.QueryExecutor.Table;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Results of structured chat answers that span several pages, held briefly so
+ * continuation pages are served from memory: generated SQL has no stable key
+ * to resume from, and re-running it (or the LLM) per page would cost more than
+ * keeping the already row-capped result.
+ *
+ * A cursor is opaque to clients; it names the stored result and the offset of
+ * the next page.
+ */
+@Component
+public class ResultCursors {
+
+	public record Position(Table table, int offset) {
+	}
+
+	private final Cache<String, Table> results;
+
+	public ResultCursors(
+			@Value("${ai.structured.cursor-ttl:PT5M}") Duration ttl,
+			@Value("${ai.structured.cursor-max-cells:5000000}") long maxCells) {
+		this.results = Caffeine.newBuilder()
+				.maximumWeight(maxCells)
+				.weigher((String id, Table table) -> Math.max(1, table.rows().size() * table.columns().size()))
+				.expireAfterAccess(ttl)
+				.build();
+	}
+
+	/**
+	 * Stores the result and returns the cursor for the page starting at offset.
+	 */
+	public String open(Table table, int offset) {
+		String id = UUID.randomUUID().toString();
+		results.put(id, table);
+		return encode(id, offset);
+	}
+
+	/**
+	 * Cursor for a later page of a result that is already stored.
+	 */
+	public String next(String cursor, int offset) {
+		return encode(decodeId(cursor), offset);
+	}
+
+	/**
+	 * The stored result and offset a cursor points at; empty once it has expired
+	 * or when the cursor is malformed.
+	 */
+	public Optional<Position> resolve(String cursor) {
+		String raw;
+		try {
+			raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			return Optional.empty();
+		}
+		int separator = raw.lastIndexOf(':');
+		if (separator < 0) {
+			return Optional.empty();
+		}
+		int offset;
+		try {
+			offset = Integer.parseInt(raw.substring(separator + 1));
+		} catch (NumberFormatException e) {
+			return Optional.empty();
+		}
+		Table table = results.getIfPresent(raw.substring(0, separator));
+		if (table == null || offset < 0 || offset > table.rows().size()) {
+			return Optional.empty();
+		}
+		return Optional.of(new Position(table, offset));
+	}
+
+	private static String encode(String id, int offset) {
+		String raw = id + ":" + offset;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String decodeId(String cursor) {
+		String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+		return raw.substring(0, raw.lastIndexOf(':'));
+	}
+}
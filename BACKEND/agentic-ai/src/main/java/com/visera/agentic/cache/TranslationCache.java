@@ -0,0 +1,152 @@
+package com.visera.agentic.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.visera.agentic.util.QuestionNormalizer;
+import com.visera.agentic.util.QuestionNormalizer.NormalizedQuestion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Two-level cache of question -> SQL translations, so repeated questions skip
+ * the Gemini call.
+ *
+ * Level one is keyed by the exact normalized question. Level two is keyed by
+ * the question's template key (see {@link QuestionNormalizer}) and holds SQL
+ * with the question's literals replaced by slots named after their labels, so
+ * "tasks for bin A3-B2-01" can answer "tasks for bin A1-C4-02". Only SQL that passed
+ * validation and executed is stored, and a template is only derived when every
+ * literal appears exactly once in the SQL.
+ */
+@Slf4j
+@Component
+public class TranslationCache {
+
+	private static final String SLOT = "\u0000";
+
+	private final Cache<String, String> exact;
+	private final Cache<String, String> templates;
+
+	private final AtomicLong exactHits = new AtomicLong();
+	private final AtomicLong templateHits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	public TranslationCache(
+			@Value("${ai.translation-cache.max-size:5000}") long maxSize,
+			@Value("${ai.translation-cache.ttl:PT24H}") Duration ttl) {
+		this.exact = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+		this.templates = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+	}
+
+	public Optional<String> lookup(String question) {
+		NormalizedQuestion normalized = QuestionNormalizer.normalize(question);
+
+		String sql = exact.getIfPresent(normalized.exactKey());
+		if (sql != null) {
+			exactHits.incrementAndGet();
+			return Optional.of(sql);
+		}
+
+		String template = templates.getIfPresent(normalized.templateKey());
+		if (template != null) {
+			sql = fill(template, normalized.literals());
+			if (sql != null) {
+				templateHits.incrementAndGet();
+				log.debug("Translation template hit for key '{}'", normalized.templateKey());
+				return Optional.of(sql);
+			}
+		}
+
+		misses.incrementAndGet();
+		return Optional.empty();
+	}
+
+	/**
+	 * Records a translation. Call only after the SQL was validated and ran.
+	 */
+	public void put(String question, String sql) {
+		NormalizedQuestion normalized = QuestionNormalizer.normalize(question);
+		exact.put(normalized.exactKey(), sql);
+
+		String template = toTemplate(sql, normalized.literals());
+		if (template != null) {
+			templates.put(normalized.templateKey(), template);
+		}
+	}
+
+	public void clear() {
+		exact.invalidateAll();
+		templates.invalidateAll();
+	}
+
+	public Map<String, Object> stats() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("exactEntries", exact.estimatedSize());
+		stats.put("templateEntries", templates.estimatedSize());
+		stats.put("exactHits", exactHits.get());
+		stats.put("templateHits", templateHits.get());
+		stats.put("misses", misses.get());
+		return stats;
+	}
+
+	// Replaces each literal's single occurrence with a slot named by its label, or gives up
+	private String toTemplate(String sql, Map<String, String> literals) {
+		String template = sql;
+		for (Map.Entry<String, String> entry : literals.entrySet()) {
+			String literal = entry.getValue();
+			if (literal.isEmpty()) {
+				return null;
+			}
+			Matcher matcher = Pattern.compile("(?i)(?<![\\w])" + Pattern.quote(literal) + "(?![\\w])").matcher(template);
+			if (!matcher.find()) {
+				return null;
+			}
+			int start = matcher.start();
+			int end = matcher.end();
+			if (matcher.find()) {
+				return null; // Ambiguous: the literal is used more than once
+			}
+			// Text literals must sit inside a quoted SQL string
+			if (!QuestionNormalizer.isNumber(literal) && !insideQuotes(template, start)) {
+				return null;
+			}
+			template = template.substring(0, start) + SLOT + entry.getKey() + SLOT + template.substring(end);
+		}
+		return template;
+	}
+
+	private String fill(String template, Map<String, String> literals) {
+		String sql = template;
+		for (Map.Entry<String, String> entry : literals.entrySet()) {
+			String slot = SLOT + entry.getKey() + SLOT;
+			if (!sql.contains(slot)) {
+				return null;
+			}
+			sql = sql.replace(slot, escape(entry.getValue()));
+		}
+		return sql.contains(SLOT) ? null : sql;
+	}
+
+	private static String escape(String literal) {
+		return literal.replace("\\", "\\\\").replace("'", "''");
+	}
+
+	private static boolean insideQuotes(String sql, int position) {
+		int quotes = 0;
+		for (int i = 0; i < position; i++) {
+			if (sql.charAt(i) == '\'') {
+				quotes++;
+			}
+		}
+		return quotes % 2 == 1;
+	}
+}
@@ -1,20 +1,25 @@
 package com.visera.agentic.client;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.visera.agentic.schema.SchemaCatalog;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,7 +29,8 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class GeminiClient {
 
-	private final RestTemplate restTemplate;
+	private final HttpClient httpClient;
+	private final SchemaCatalog schemaCatalog;
 	private final ObjectMapper objectMapper = new ObjectMapper();
 
 	@Value("${gemini.api.url}")
@@ -33,44 +39,77 @@ public class GeminiClient {
 	@Value("${gemini.api.key}")
 	private String geminiApiKey;
 
-	// Unified method - generates SQL for any entity in one call
-	public String generateSQL(String question) {
-		try {
-			// Build the prompt with ALL entity schemas
-			String prompt = buildUnifiedPrompt(question);
+	@Value("${ai.llm.request-timeout:PT10S}")
+	private Duration requestTimeout;
+
+	// Describe only the tables a question needs; false sends the whole schema (for comparison)
+	@Value("${ai.prompt.schema-pruning:true}")
+	private boolean schemaPruning;
 
-			// Prepare request headers
-			HttpHeaders headers = new HttpHeaders();
-			headers.setContentType(MediaType.APPLICATION_JSON);
+	// Rough English-text ratio, only used for logging and stats
+	private static final int CHARS_PER_TOKEN = 4;
 
-			// Build request body
-			Map<String, Object> requestBody = buildRequestBody(prompt);
+	private final AtomicLong calls = new AtomicLong();
+	private final AtomicLong promptChars = new AtomicLong();
+	private final AtomicLong latencyMillis = new AtomicLong();
+
+	/**
+	 * Generates SQL for any entity in one call. No thread is held while waiting
+	 * for Gemini; the future completes with the SQL, or exceptionally with a
+	 * RuntimeException.
+	 */
+	public CompletableFuture<String> generateSQLAsync(String question) {
+		HttpRequest request;
+		String prompt;
+		try {
+			// Build the prompt with the schemas of the relevant entities
+			prompt = buildUnifiedPrompt(question);
 
 			// Make API call - API key is passed as query parameter
-			HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-			String url = geminiApiUrl + "?key=" + geminiApiKey;
+			String body = objectMapper.writeValueAsString(buildRequestBody(prompt));
+			request = HttpRequest.newBuilder(URI.create(geminiApiUrl + "?key=" + geminiApiKey))
+					.timeout(requestTimeout)
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(body))
+					.build();
+		} catch (Exception e) {
+			return CompletableFuture.failedFuture(new RuntimeException("Error generating SQL: " + e.getMessage(), e));
+		}
 
-			log.info("Calling Gemini API: {}", url);
-			log.debug("Prompt: {}", prompt);
+		log.info("Calling Gemini API: {}", geminiApiUrl);
+		log.debug("Prompt: {}", prompt);
 
-			ResponseEntity<String> response = restTemplate.postForEntity(url, request, String.class);
+		long started = System.nanoTime();
+		return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+				.handle((response, error) -> {
+					if (error != null) {
+						Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+						log.error("Error calling Gemini API: {}", cause.getMessage());
+						throw new RuntimeException("Error generating SQL: " + cause.getMessage(), cause);
+					}
 
-			if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-				String sql = extractSQLFromResponse(response.getBody());
-				log.info("Generated SQL from Gemini: {}", sql);
-				return sql;
-			} else {
-				log.error("Gemini API returned status: {}", response.getStatusCode());
-				throw new RuntimeException("Failed to generate SQL from Gemini API");
-			}
+					long latencyMs = (System.nanoTime() - started) / 1_000_000;
+					recordCall(prompt.length(), latencyMs);
+					log.info("Gemini responded in {} ms to a {} char prompt (~{} tokens)",
+							latencyMs, prompt.length(), prompt.length() / CHARS_PER_TOKEN);
 
-		} catch (Exception e) {
-			log.error("Error calling Gemini API: {}", e.getMessage(), e);
-			throw new RuntimeException("Error generating SQL: " + e.getMessage(), e);
-		}
+					if (response.statusCode() == 200 && response.body() != null) {
+						String sql = extractSQLFromResponse(response.body());
+						log.info("Generated SQL from Gemini: {}", sql);
+						return sql;
+					}
+					log.error("Gemini API returned status: {}", response.statusCode());
+					throw new RuntimeException("Error generating SQL: Failed to generate SQL from Gemini API");
+				});
 	}
 
 	private String buildUnifiedPrompt(String question) {
+		Set<String> tables = schemaPruning ? schemaCatalog.selectTables(question) : schemaCatalog.allTables();
+		return buildUnifiedPrompt(question, tables);
+	}
+
+	private String buildUnifiedPrompt(String question, Set<String> tables) {
+		String schema = schemaCatalog.describe(tables);
 		return """
 			You are a SQL expert. Analyze the following natural language question and generate a SQL SELECT query.
 			
@@ -78,177 +117,7 @@ public class GeminiClient {
 			
 			IMPORTANT: When a question asks for fields from multiple related tables (e.g., "product name with sku code"), you MUST use JOINs to combine data from related tables.
 			
-			Table Relationships (Use JOINs when querying related data):
-			- skus.product_id → products.id (One product has many SKUs)
-			- shipment_items.shipment_id → shipments.id
-			- shipment_items.sku_id → skus.id
-			- shipment_workers.shipment_id → shipments.id
-			- shipment_workers.worker_id → users.id
-			- tasks.user_id → users.id
-			- tasks.shipment_item_id → shipment_items.id
-			- tasks.suggested_bin_id → bins.id
-			- tasks.suggested_zone_id → zones.id
-			- inventory_stock.sku_id → skus.id
-			- inventory_stock.bin_id → bins.id
-			- bins.rack_id → racks.id
-			- racks.zone_id → zones.id
-			- notifications.user_id → users.id
-			- approvals.shipment_item_id → shipment_items.id
-			- approvals.requested_by → users.id
-			- approvals.reviewed_by → users.id
-			- verification_logs.shipment_item_id → shipment_items.id
-			- verification_logs.verified_by → users.id
-			- issues.shipment_id → shipments.id
-			- issues.reported_by → users.id
-			- issues.acknowledged_by → users.id
-			- shipments.created_by → users.id
-			- shipments.assigned_to → users.id
-			
-			Available Tables and Schemas:
-			
-			1. products
-			   - id (BIGINT, PRIMARY KEY)
-			   - name (VARCHAR)
-			   - description (VARCHAR)
-			   - product_code (VARCHAR, UNIQUE)
-			   - category (VARCHAR)
-			   - status (VARCHAR) - values: 'Active', 'Inactive', 'LOW_STOCK'
-			   - image_url (VARCHAR)
-			   - created_at (DATETIME)
-			
-			2. skus
-			   - id (BIGINT, PRIMARY KEY)
-			   - product_id (BIGINT, FOREIGN KEY to products.id)
-			   - sku_code (VARCHAR, UNIQUE)
-			   - weight (VARCHAR, nullable)
-			   - dimensions (VARCHAR)
-			   - color (VARCHAR)
-			   - image_url (VARCHAR, nullable)
-			   - created_at (DATETIME)
-			
-			3. shipments
-			   - id (BIGINT, PRIMARY KEY)
-			   - shipment_type (VARCHAR) - values: 'INBOUND', 'OUTBOUND'
-			   - status (VARCHAR) - values: 'CREATED', 'ARRIVED', 'PUTAWAY', etc.
-			   - created_by (BIGINT, FOREIGN KEY to users.id)
-			   - assigned_to (BIGINT, FOREIGN KEY to users.id, nullable)
-			   - deadline (DATE)
-			   - created_at (DATETIME)
-			
-			4. shipment_items
-			   - id (BIGINT, PRIMARY KEY)
-			   - shipment_id (BIGINT, FOREIGN KEY to shipments.id)
-			   - sku_id (BIGINT, FOREIGN KEY to skus.id)
-			   - quantity (INTEGER)
-			   - status (VARCHAR) - values: 'RECEIVED', 'STORED', 'PICKED', 'PACKED'
-			
-			5. shipment_workers
-			   - id (BIGINT, PRIMARY KEY)
-			   - shipment_id (BIGINT, FOREIGN KEY to shipments.id)
-			   - worker_id (BIGINT, FOREIGN KEY to users.id)
-			   - assigned_at (DATETIME)
-			
-			6. tasks
-			   - id (BIGINT, PRIMARY KEY)
-			   - user_id (BIGINT, FOREIGN KEY to users.id)
-			   - shipment_item_id (BIGINT, FOREIGN KEY to shipment_items.id)
-			   - task_type (VARCHAR) - values: 'PUTAWAY', 'PICKING'
-			   - status (VARCHAR) - values: 'PENDING', 'IN_PROGRESS', 'COMPLETED'
-			   - suggested_bin_id (BIGINT, FOREIGN KEY to bins.id, nullable)
-			   - suggested_location (VARCHAR)
-			   - suggested_zone_id (BIGINT, FOREIGN KEY to zones.id, nullable)
-			   - in_progress (BOOLEAN)
-			   - allocation_plan (TEXT)
-			   - created_at (DATETIME)
-			   - completed_at (DATETIME, nullable)
-			
-			7. inventory_stock
-			   - id (BIGINT, PRIMARY KEY)
-			   - sku_id (BIGINT, FOREIGN KEY to skus.id)
-			   - bin_id (BIGINT, FOREIGN KEY to bins.id)
-			   - quantity (INTEGER)
-			   - updated_at (DATETIME)
-			
-			8. bins
-			   - id (BIGINT, PRIMARY KEY)
-			   - rack_id (BIGINT, FOREIGN KEY to racks.id, nullable)
-			   - name (VARCHAR)
-			   - code (VARCHAR, UNIQUE)
-			   - capacity (INTEGER, nullable)
-			
-			9. racks
-			   - id (BIGINT, PRIMARY KEY)
-			   - zone_id (BIGINT, FOREIGN KEY to zones.id)
-			   - name (VARCHAR)
-			   - description (VARCHAR, nullable)
-			
-			10. zones
-			    - id (BIGINT, PRIMARY KEY)
-			    - name (VARCHAR)
-			    - description (VARCHAR, nullable)
-			
-			11. notifications
-			    - id (BIGINT, PRIMARY KEY)
-			    - user_id (BIGINT, FOREIGN KEY to users.id, nullable)
-			    - title (VARCHAR, nullable)
-			    - message (VARCHAR, nullable)
-			    - type (VARCHAR) - values: 'ALERT', 'INFO', 'WARNING', 'ERROR'
-			    - is_read (BOOLEAN)
-			    - created_at (DATETIME)
-			
-			12. approvals
-			    - id (BIGINT, PRIMARY KEY)
-			    - shipment_item_id (BIGINT, FOREIGN KEY to shipment_items.id)
-			    - requested_by (BIGINT, FOREIGN KEY to users.id)
-			    - type (VARCHAR) - values: 'VERIFICATION_MISMATCH', 'MANUAL_OVERRIDE'
-			    - status (VARCHAR) - values: 'PENDING', 'APPROVED', 'REJECTED'
-			    - reason (TEXT, nullable)
-			    - extracted_data (TEXT, nullable)
-			    - expected_data (TEXT, nullable)
-			    - reviewed_by (BIGINT, FOREIGN KEY to users.id, nullable)
-			    - requested_at (DATETIME)
-			    - reviewed_at (DATETIME, nullable)
-			
-			13. verification_logs
-			    - id (BIGINT, PRIMARY KEY)
-			    - shipment_item_id (BIGINT, FOREIGN KEY to shipment_items.id, nullable)
-			    - uploaded_image_url (VARCHAR, nullable)
-			    - extracted_sku (VARCHAR, nullable)
-			    - expected_sku (VARCHAR, nullable)
-			    - extracted_product_code (VARCHAR, nullable)
-			    - expected_product_code (VARCHAR, nullable)
-			    - extracted_weight (VARCHAR, nullable)
-			    - expected_weight (VARCHAR, nullable)
-			    - extracted_color (VARCHAR, nullable)
-			    - expected_color (VARCHAR, nullable)
-			    - extracted_dimensions (VARCHAR, nullable)
-			    - expected_dimensions (VARCHAR, nullable)
-			    - ai_confidence (DOUBLE, nullable)
-			    - result (VARCHAR, nullable) - values: 'MATCH', 'MISMATCH', 'LOW_CONFIDENCE'
-			    - verified_by (BIGINT, FOREIGN KEY to users.id)
-			    - verified_at (DATETIME)
-			
-			14. issues
-			    - id (BIGINT, PRIMARY KEY)
-			    - shipment_id (BIGINT, FOREIGN KEY to shipments.id, nullable)
-			    - reported_by (BIGINT, FOREIGN KEY to users.id)
-			    - issue_type (VARCHAR) - values: 'MISMATCH', 'DAMAGED', 'LOCATION', 'OTHER'
-			    - description (TEXT, nullable)
-			    - status (VARCHAR) - values: 'OPEN', 'NOTED'
-			    - acknowledged_by (BIGINT, FOREIGN KEY to users.id, nullable)
-			    - expected_sku (VARCHAR, nullable)
-			    - detected_sku (VARCHAR, nullable)
-			    - confidence (DOUBLE, nullable)
-			    - created_at (DATETIME)
-			    - acknowledged_at (DATETIME, nullable)
-			
-			15. users
-			    - id (BIGINT, PRIMARY KEY)
-			    - name (VARCHAR)
-			    - email (VARCHAR, UNIQUE)
-			    - password (VARCHAR) - DO NOT SELECT THIS FIELD IN QUERIES
-			    - role (VARCHAR) - values: 'ADMIN', 'SUPERVISOR', 'WORKER'
-			    - created_at (DATETIME)
+			%s
 			
 			SQL Methods Available:
 			
@@ -343,7 +212,7 @@ public class GeminiClient {
 			Question: %s
 			
 			SQL Query:
-			""".formatted(question);
+			""".formatted(schema, question);
 	}
 
 	// Keep old method for reference (not used, but kept for clarity)
@@ -375,6 +244,28 @@ public class GeminiClient {
 			""".formatted(question);
 	}
 
+	/**
+	 * Prompt size and Gemini latency so far, next to the size of a full-schema
+	 * prompt, to compare pruned and unpruned runs.
+	 */
+	public Map<String, Object> promptStats() {
+		long count = calls.get();
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("schemaPruning", schemaPruning);
+		stats.put("calls", count);
+		stats.put("averagePromptChars", count == 0 ? 0 : promptChars.get() / count);
+		stats.put("averagePromptTokensEstimate", count == 0 ? 0 : promptChars.get() / count / CHARS_PER_TOKEN);
+		stats.put("fullSchemaPromptChars", buildUnifiedPrompt("", schemaCatalog.allTables()).length());
+		stats.put("averageLatencyMs", count == 0 ? 0 : latencyMillis.get() / count);
+		return stats;
+	}
+
+	private void recordCall(int chars, long latencyMs) {
+		calls.incrementAndGet();
+		promptChars.addAndGet(chars);
+		latencyMillis.addAndGet(latencyMs);
+	}
+
 	private Map<String, Object> buildRequestBody(String prompt) {
 		Map<String, Object> part = new HashMap<>();
 		part.put("text", prompt);
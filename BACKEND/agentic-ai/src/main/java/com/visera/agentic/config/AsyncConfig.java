@@ -0,0 +1,45 @@
+package com.visera.agentic.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Chat requests are handled asynchronously: the servlet thread is released
+ * while Gemini is called, and SQL execution and formatting run on a bounded
+ * pool, which also writes streaming responses.
+ */
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+
+	public static final String AI_EXECUTOR = "aiExecutor";
+
+	private final ThreadPoolTaskExecutor aiExecutor = new ThreadPoolTaskExecutor();
+	private final long asyncTimeoutMs;
+
+	public AsyncConfig(
+			@Value("${ai.executor.core-size:8}") int coreSize,
+			@Value("${ai.executor.max-size:32}") int maxSize,
+			@Value("${ai.executor.queue-capacity:200}") int queueCapacity,
+			@Value("${ai.chat.async-timeout-ms:30000}") long asyncTimeoutMs) {
+		aiExecutor.setCorePoolSize(coreSize);
+		aiExecutor.setMaxPoolSize(maxSize);
+		aiExecutor.setQueueCapacity(queueCapacity);
+		aiExecutor.setThreadNamePrefix("ai-");
+		this.asyncTimeoutMs = asyncTimeoutMs;
+	}
+
+	@Bean(name = AI_EXECUTOR)
+	public ThreadPoolTaskExecutor aiExecutor() {
+		return aiExecutor;
+	}
+
+	@Override
+	public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+		configurer.setTaskExecutor(aiExecutor);
+		configurer.setDefaultTimeout(asyncTimeoutMs);
+	}
+}
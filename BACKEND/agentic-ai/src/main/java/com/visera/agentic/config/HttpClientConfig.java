@@ -0,0 +1,23 @@
+package com.visera.agentic.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+public class HttpClientConfig {
+
+	// Shared JDK client for LLM calls: keeps connections alive in its pool,
+	// negotiates HTTP/2 where the server supports it, and supports sendAsync
+	@Bean
+	public HttpClient llmHttpClient(@Value("${ai.llm.connect-timeout:PT5S}") Duration connectTimeout) {
+		return HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_2)
+				.connectTimeout(connectTimeout)
+				.followRedirects(HttpClient.Redirect.NORMAL)
+				.build();
+	}
+}
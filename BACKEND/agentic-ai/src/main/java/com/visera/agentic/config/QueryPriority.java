@@ -0,0 +1,12 @@
+package com.visera.agentic.config;
+
+/**
+ * Which read-only pool a generated query runs on. Each priority has its own
+ * connections and timeout, so long result streams cannot starve chat answers.
+ */
+public enum QueryPriority {
+	// Chat answers and counts: small results, short timeout
+	INTERACTIVE,
+	// Streamed result sets: few connections, longer timeout
+	BULK
+}
@@ -0,0 +1,84 @@
+package com.visera.agentic.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Read-only connection pools for generated SQL, one per {@link QueryPriority},
+ * kept apart from the primary datasource (spring.datasource.*) that serves
+ * schema metadata. They point at ai.datasource.read.url, typically a replica,
+ * and fall back to the primary URL and credentials when it is not set.
+ *
+ * Connections are opened read-only, so the database itself rejects writes,
+ * and each pool can run an init statement such as MySQL's max_execution_time
+ * as a server-side limit behind the JDBC query timeout. The pools are not
+ * DataSource beans, so Spring Boot still auto-configures the primary one.
+ */
+@Slf4j
+@Component
+public class ReadOnlyDataSources {
+
+	private final Map<QueryPriority, HikariDataSource> pools = new EnumMap<>(QueryPriority.class);
+	private final Map<QueryPriority, JdbcTemplate> templates = new EnumMap<>(QueryPriority.class);
+
+	public ReadOnlyDataSources(
+			@Value("${spring.datasource.url}") String primaryUrl,
+			@Value("${spring.datasource.username:}") String primaryUsername,
+			@Value("${spring.datasource.password:}") String primaryPassword,
+			@Value("${ai.datasource.read.url:}") String url,
+			@Value("${ai.datasource.read.username:}") String username,
+			@Value("${ai.datasource.read.password:}") String password,
+			@Value("${ai.datasource.read.interactive.max-pool-size:6}") int interactivePoolSize,
+			@Value("${ai.datasource.read.interactive.connection-timeout:PT2S}") Duration interactiveConnectionTimeout,
+			@Value("${ai.datasource.read.interactive.connection-init-sql:}") String interactiveInitSql,
+			@Value("${ai.datasource.read.bulk.max-pool-size:2}") int bulkPoolSize,
+			@Value("${ai.datasource.read.bulk.connection-timeout:PT10S}") Duration bulkConnectionTimeout,
+			@Value("${ai.datasource.read.bulk.connection-init-sql:}") String bulkInitSql) {
+		String jdbcUrl = url.isBlank() ? primaryUrl : url;
+		String user = username.isBlank() ? primaryUsername : username;
+		String secret = username.isBlank() ? primaryPassword : password;
+		log.info("Generated queries use read-only pools on {}", url.isBlank() ? "the primary database" : "ai.datasource.read.url");
+
+		pools.put(QueryPriority.INTERACTIVE, pool("ai-interactive", jdbcUrl, user, secret,
+				interactivePoolSize, interactiveConnectionTimeout, interactiveInitSql));
+		pools.put(QueryPriority.BULK, pool("ai-bulk", jdbcUrl, user, secret,
+				bulkPoolSize, bulkConnectionTimeout, bulkInitSql));
+		pools.forEach((priority, pool) -> templates.put(priority, new JdbcTemplate(pool)));
+	}
+
+	public JdbcTemplate jdbcTemplate(QueryPriority priority) {
+		return templates.get(priority);
+	}
+
+	@PreDestroy
+	public void close() {
+		pools.values().forEach(HikariDataSource::close);
+	}
+
+	// Started lazily on first use, so an unreachable replica does not block startup
+	private static HikariDataSource pool(String name, String url, String username, String password,
+			int maxPoolSize, Duration connectionTimeout, String initSql) {
+		HikariDataSource pool = new HikariDataSource();
+		pool.setPoolName(name);
+		pool.setJdbcUrl(url);
+		pool.setUsername(username);
+		pool.setPassword(password);
+		pool.setReadOnly(true);
+		pool.setMaximumPoolSize(maxPoolSize);
+		pool.setMinimumIdle(Math.min(2, maxPoolSize));
+		// A full pool fails fast instead of queueing chat requests behind it
+		pool.setConnectionTimeout(connectionTimeout.toMillis());
+		if (!initSql.isBlank()) {
+			pool.setConnectionInitSql(initSql);
+		}
+		return pool;
+	}
+}
@@ -1,31 +0,0 @@
-package com.visera.agentic.config;
-
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
-import org.springframework.web.client.RestTemplate;
-
-@Configuration
-public class RestTemplateConfig {
-
-	@Bean
-	public RestTemplate restTemplate() {
-		SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-		factory.setConnectTimeout(5000); // 5 seconds
-		factory.setReadTimeout(10000); // 10 seconds
-		return new RestTemplate(factory);
-	}
-}
-
-
-
-
-
-
-
-
-
-
-
-
-
@@ -1,10 +1,20 @@
 package com.visera.agentic.controller;
 
+import com.visera.agentic.cache.ResultCache;
+import com.visera.agentic.cache.TranslationCache;
+import com.visera.agentic.client.GeminiClient;
+import com.visera.agentic.dto.StructuredAnswer;
+import com.visera.agentic.intent.IntentRouter;
 import com.visera.agentic.service.UnifiedAIService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/ai")
@@ -13,20 +23,97 @@ import java.util.Map;
 public class UnifiedAIController {
 
 	private final UnifiedAIService unifiedAIService;
+	private final TranslationCache translationCache;
+	private final ResultCache resultCache;
+	private final GeminiClient geminiClient;
+	private final IntentRouter intentRouter;
 
+	// Asynchronous: the request thread is released while the answer is prepared
 	@PostMapping("/chat")
-	public Object chat(@RequestBody Map<String, String> body) {
+	public CompletableFuture<Object> chat(@RequestBody Map<String, String> body) {
 		if (body == null || !body.containsKey("question") || body.get("question") == null || body.get("question").trim().isEmpty()) {
-			return Map.of("error", "Request body must contain 'question' field with a non-empty value");
+			return CompletableFuture.completedFuture(
+					Map.of("error", "Request body must contain 'question' field with a non-empty value"));
 		}
 
 		String question = body.get("question").trim();
 		return unifiedAIService.askQuestion(question);
 	}
 
+	// Column metadata plus rows ("rows") or per-column arrays ("columns"); send
+	// back nextCursor instead of a question to get the following page
+	@PostMapping("/chat/structured")
+	public CompletableFuture<StructuredAnswer> chatStructured(@RequestBody Map<String, String> body) {
+		String question = body == null ? null : body.get("question");
+		String cursor = body == null ? null : body.get("cursor");
+		if ((question == null || question.trim().isEmpty()) && (cursor == null || cursor.isBlank())) {
+			return CompletableFuture.completedFuture(StructuredAnswer.builder()
+					.error("Request body must contain a non-empty 'question' or a 'cursor' field")
+					.build());
+		}
+
+		Integer pageSize;
+		try {
+			pageSize = body.get("pageSize") == null ? null : Integer.valueOf(body.get("pageSize").trim());
+		} catch (NumberFormatException e) {
+			return CompletableFuture.completedFuture(StructuredAnswer.builder()
+					.error("'pageSize' must be a number")
+					.build());
+		}
+
+		String format = body.get("format");
+		if (cursor != null && !cursor.isBlank()) {
+			return CompletableFuture.completedFuture(unifiedAIService.continueStructured(cursor.trim(), format, pageSize));
+		}
+		return unifiedAIService.askStructured(question.trim(), format, pageSize);
+	}
+
+	// Newline-delimited JSON: result pages are written as rows are read. The request
+	// thread is released while the SQL is generated, and no pool thread waits on Gemini
+	@PostMapping(value = "/chat/stream", produces = "application/x-ndjson")
+	public CompletableFuture<ResponseEntity<StreamingResponseBody>> chatStream(@RequestBody Map<String, String> body) {
+		if (body == null || body.get("question") == null || body.get("question").trim().isEmpty()) {
+			// Typed as a stream so the streaming handler (not a message converter) writes it
+			return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(outputStream -> outputStream.write(
+					"{\"type\":\"error\",\"message\":\"Request body must contain 'question' field with a non-empty value\"}\n"
+							.getBytes(StandardCharsets.UTF_8))));
+		}
+
+		String question = body.get("question").trim();
+		return unifiedAIService.streamAnswer(question).thenApply(ResponseEntity::ok);
+	}
+
+	// Hit/miss counters for the question -> SQL translation cache and the SQL -> result cache
+	@GetMapping("/cache/stats")
+	public Map<String, Object> cacheStats() {
+		Map<String, Object> stats = new LinkedHashMap<>(translationCache.stats());
+		stats.put("results", resultCache.stats());
+		return stats;
+	}
+
+	// Drop cached translations and results, e.g. after a schema change
+	@DeleteMapping("/cache")
+	public Map<String, Object> clearCache() {
+		translationCache.clear();
+		resultCache.clear();
+		return cacheStats();
+	}
+
+	// Prompt size and LLM latency, for comparing schema pruning on and off
+	@GetMapping("/prompt/stats")
+	public Map<String, Object> promptStats() {
+		return geminiClient.promptStats();
+	}
+
+	// Questions answered from local intent templates, fallbacks to the LLM, and unmatched questions
+	@GetMapping("/intents/stats")
+	public Map<String, Object> intentStats() {
+		return intentRouter.stats();
+	}
+
 	// Backward compatibility endpoint - delegates to unified service
 	@PostMapping("/products/chat")
-	public Object productChat(@RequestBody Map<String, String> body) {
+	public CompletableFuture<Object> productChat(@RequestBody Map<String, String> body) {
 		// Same validation and logic as /chat
 		return chat(body);
 	}
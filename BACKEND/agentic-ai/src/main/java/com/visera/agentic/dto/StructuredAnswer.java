@@ -0,0 +1,36 @@
+package com.visera.agentic.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.visera.agentic.service.QueryExecutor.Column;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a chat answer as data: column metadata once, then either
+ * positional rows ("rows") or one value array per column ("columns"). Pass
+ * nextCursor back for the following page; it is null on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StructuredAnswer {
+	private String format;
+	private List<Column> columns;
+	// format "rows": one array per row, values in column order
+	private List<Object[]> rows;
+	// format "columns": one array per column, values in row order
+	private List<List<Object>> data;
+	private Integer offset;
+	private Integer rowCount;
+	// Rows in the whole result, at most ai.query.max-rows
+	private Integer totalRows;
+	private Boolean truncated;
+	private String nextCursor;
+	private String error;
+}
@@ -0,0 +1,386 @@
+package com.visera.agentic.intent;
+
+import com.visera.agentic.config.QueryPriority;
+import com.visera.agentic.service.QueryExecutor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Answers the most frequent operational questions without the LLM: stock for
+ * a SKU, pending tasks of a worker (or per worker), shipments by status and
+ * open issues.
+ *
+ * A question is routed only when it matches one of the anchored patterns
+ * below in full, so extra conditions ("... in zone A", "... this week") still
+ * go to Gemini. A match runs a fixed, parameterized query over indexed columns
+ * and fills that intent's answer template. When the query finds nothing to
+ * anchor the answer on (e.g. no worker with that name), or fails, the caller
+ * falls back to the LLM.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IntentRouter {
+
+	// Optional lead-in such as "please show me all the"
+	private static final String LEAD = "(?:(?:please\\s+)?(?:show(?:\\s+me)?|list|get|give\\s+me|find|display|check"
+			+ "|what\\s+(?:is|are)|tell\\s+me)\\s+)?(?:all\\s+)?(?:the\\s+)?(?:current\\s+)?";
+	private static final String COUNT = "(?<count>how\\s+many\\s+|count\\s+(?:of\\s+)?|number\\s+of\\s+)?";
+	private static final String SKU = "(?:(?<sku>sku)\\s*(?:code\\s*)?[:#]?\\s*)?(?<code>[a-z0-9][\\w-]*)";
+	private static final String TASK_TYPE = "(?:(?<type>putaway|picking)\\s+)?";
+	private static final String SHIPMENT_STATUS =
+			"['\"]?(?<status>created|arrived|putaway|received|verified|in[\\s_]progress|pending|completed|dispatched)['\"]?";
+	private static final String OPEN = "(?:open|unresolved|outstanding)";
+
+	private static final List<Pattern> SKU_STOCK = patterns(
+			LEAD + "(?:how\\s+much\\s+)?(?:stock|inventory|quantity|units)(?:\\s+level)?"
+					+ "(?:\\s+(?:is\\s+there|do\\s+we\\s+have))?\\s+(?:for|of)\\s+" + SKU,
+			"(?:where\\s+is|how\\s+many\\s+units\\s+of)\\s+" + SKU
+					+ "(?:\\s+(?:stored|located|in\\s+stock|do\\s+we\\s+have))?",
+			LEAD + SKU + "\\s+(?:stock|inventory|quantity|stock\\s+level|locations?)");
+
+	private static final List<Pattern> PENDING_TASKS_PER_WORKER = patterns(
+			LEAD + COUNT + "pending\\s+" + TASK_TYPE + "tasks?\\s+(?:per|by|for\\s+each)\\s+(?:worker|user|employee)");
+
+	private static final List<Pattern> PENDING_TASKS_OF_WORKER = patterns(
+			LEAD + COUNT + "pending\\s+" + TASK_TYPE + "tasks?\\s+(?:for|of|assigned\\s+to)\\s+(?:worker\\s+|user\\s+)?(?<name>.+)",
+			"(?<count>how\\s+many\\s+)pending\\s+" + TASK_TYPE + "tasks?\\s+does\\s+(?:worker\\s+)?(?<name>.+?)\\s+have",
+			LEAD + "(?:worker\\s+)?(?<name>.+?)'s\\s+pending\\s+" + TASK_TYPE + "tasks?");
+
+	private static final List<Pattern> SHIPMENTS_BY_STATUS = patterns(
+			LEAD + COUNT + "shipments?\\s+(?:by|per|grouped\\s+by)\\s+status");
+
+	private static final List<Pattern> SHIPMENTS_WITH_STATUS = patterns(
+			LEAD + COUNT + "shipments?\\s+(?:with|in|having|that\\s+are|which\\s+are)\\s+(?:the\\s+)?(?:status\\s+)?"
+					+ SHIPMENT_STATUS + "(?:\\s+status)?",
+			LEAD + COUNT + SHIPMENT_STATUS + "\\s+shipments?",
+			"(?<count>how\\s+many\\s+)shipments?\\s+(?:are|were)\\s+(?:in\\s+)?" + SHIPMENT_STATUS);
+
+	private static final List<Pattern> OPEN_ISSUES = patterns(
+			LEAD + COUNT + OPEN + "\\s+issues?",
+			LEAD + COUNT + "issues?\\s+(?:that\\s+are\\s+|which\\s+are\\s+)?(?:still\\s+)?" + OPEN);
+
+	private static final Pattern DIGIT = Pattern.compile("\\d");
+
+	// Served by skus.sku_code (unique), then the inventory_stock.sku_id foreign key
+	private static final String SKU_STOCK_SQL =
+			"SELECT s.sku_code, p.name AS product_name, b.code AS bin_code, i.quantity "
+					+ "FROM skus s "
+					+ "LEFT JOIN products p ON p.id = s.product_id "
+					+ "LEFT JOIN inventory_stock i ON i.sku_id = s.id "
+					+ "LEFT JOIN bins b ON b.id = i.bin_id "
+					+ "WHERE s.sku_code = ? "
+					+ "ORDER BY i.quantity DESC";
+
+	// A row per matching user even without tasks, so an unknown name can fall back
+	private static final String PENDING_TASKS_OF_WORKER_SQL =
+			"SELECT u.name AS worker_name, t.id, t.task_type, t.suggested_location "
+					+ "FROM users u "
+					+ "LEFT JOIN tasks t ON t.user_id = u.id AND t.status = 'PENDING'%s "
+					+ "WHERE u.name = ? "
+					+ "ORDER BY t.created_at, t.id";
+
+	private static final String PENDING_TASKS_PER_WORKER_SQL =
+			"SELECT u.name AS worker_name, COUNT(*) AS pending "
+					+ "FROM tasks t JOIN users u ON u.id = t.user_id "
+					+ "WHERE t.status = 'PENDING'%s "
+					+ "GROUP BY u.id, u.name "
+					+ "ORDER BY pending DESC, u.name";
+
+	private static final String TASK_TYPE_FILTER = " AND t.task_type = ?";
+
+	private static final String SHIPMENTS_WITH_STATUS_SQL =
+			"SELECT id, shipment_type, status, deadline FROM shipments WHERE status = ? ORDER BY created_at DESC, id DESC";
+
+	private static final String SHIPMENT_COUNT_SQL = "SELECT COUNT(*) AS total FROM shipments WHERE status = ?";
+
+	private static final String SHIPMENTS_BY_STATUS_SQL =
+			"SELECT status, COUNT(*) AS total FROM shipments GROUP BY status ORDER BY total DESC, status";
+
+	private static final String OPEN_ISSUES_SQL =
+			"SELECT i.id, i.issue_type, i.description, u.name AS reported_by "
+					+ "FROM issues i LEFT JOIN users u ON u.id = i.reported_by "
+					+ "WHERE i.status = 'OPEN' "
+					+ "ORDER BY i.created_at DESC, i.id DESC";
+
+	private static final String OPEN_ISSUE_COUNT_SQL = "SELECT COUNT(*) AS total FROM issues WHERE status = 'OPEN'";
+
+	private static final int MAX_DESCRIPTION_LENGTH = 80;
+
+	/**
+	 * Renders the rows (at most max-rows; truncated says more existed) as the
+	 * answer, or returns null to hand the question to the LLM instead.
+	 */
+	@FunctionalInterface
+	interface AnswerTemplate {
+		String render(List<Map<String, Object>> rows, boolean truncated);
+	}
+
+	public record IntentMatch(String intent, String sql, List<Object> params, AnswerTemplate template) {
+	}
+
+	private final QueryExecutor queryExecutor;
+
+	private final ConcurrentMap<String, AtomicLong> answered = new ConcurrentHashMap<>();
+	private final AtomicLong fallbacks = new AtomicLong();
+	private final AtomicLong unmatched = new AtomicLong();
+
+	/**
+	 * Classifies the question; empty when it is not one of the known intents.
+	 */
+	public Optional<IntentMatch> match(String question) {
+		String text = question.trim().replaceAll("\\s+", " ").replaceAll("[\\s?.!]+$", "");
+
+		Matcher m;
+		if ((m = firstMatch(SKU_STOCK, text)) != null) {
+			String code = m.group("code");
+			// Without the word "sku" only accept code-like values, not product names
+			if (m.group("sku") != null || DIGIT.matcher(code).find()) {
+				return Optional.of(skuStock(code));
+			}
+		} else if ((m = firstMatch(PENDING_TASKS_PER_WORKER, text)) != null) {
+			return Optional.of(pendingTasksPerWorker(taskType(m)));
+		} else if ((m = firstMatch(PENDING_TASKS_OF_WORKER, text)) != null) {
+			String name = m.group("name").trim().replaceAll("^['\"]|['\"]$", "");
+			return Optional.of(pendingTasksOfWorker(name, taskType(m)));
+		} else if (firstMatch(SHIPMENTS_BY_STATUS, text) != null) {
+			return Optional.of(shipmentsByStatus());
+		} else if ((m = firstMatch(SHIPMENTS_WITH_STATUS, text)) != null) {
+			String status = m.group("status").toUpperCase(Locale.ROOT).replaceAll("\\s+", "_");
+			return Optional.of(m.group("count") != null ? shipmentCount(status) : shipmentsWithStatus(status));
+		} else if ((m = firstMatch(OPEN_ISSUES, text)) != null) {
+			return Optional.of(m.group("count") != null ? openIssueCount() : openIssues());
+		}
+		unmatched.incrementAndGet();
+		return Optional.empty();
+	}
+
+	/**
+	 * Runs the intent's query and renders its answer; null means the question
+	 * should go to the LLM after all.
+	 */
+	public String answer(IntentMatch match) {
+		String answer;
+		try {
+			List<Map<String, Object>> rows = queryExecutor.queryForRows(match.sql(), match.params(), QueryPriority.INTERACTIVE);
+			boolean truncated = rows.size() > queryExecutor.getMaxRows();
+			answer = match.template().render(truncated ? rows.subList(0, queryExecutor.getMaxRows()) : rows, truncated);
+		} catch (RuntimeException e) {
+			log.warn("Intent '{}' query failed, falling back to the LLM: {}", match.intent(), e.getMessage());
+			answer = null;
+		}
+		if (answer == null) {
+			fallbacks.incrementAndGet();
+			return null;
+		}
+		answered.computeIfAbsent(match.intent(), intent -> new AtomicLong()).incrementAndGet();
+		log.info("Answered intent '{}' without the LLM", match.intent());
+		return answer;
+	}
+
+	public Map<String, Object> stats() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		Map<String, Long> byIntent = new LinkedHashMap<>();
+		answered.forEach((intent, count) -> byIntent.put(intent, count.get()));
+		stats.put("answered", byIntent);
+		stats.put("fallbacks", fallbacks.get());
+		stats.put("unmatched", unmatched.get());
+		return stats;
+	}
+
+	private IntentMatch skuStock(String code) {
+		return new IntentMatch("sku-stock", SKU_STOCK_SQL, List.of(code), (rows, truncated) -> {
+			if (rows.isEmpty()) {
+				return "No SKU found with code " + code + ".";
+			}
+			Map<String, Object> first = rows.get(0);
+			String sku = first.get("sku_code") + (first.get("product_name") != null ? " (" + first.get("product_name") + ")" : "");
+			long total = 0;
+			List<String> bins = new ArrayList<>();
+			for (Map<String, Object> row : rows) {
+				if (row.get("quantity") != null) {
+					long quantity = ((Number) row.get("quantity")).longValue();
+					total += quantity;
+					bins.add(row.get("bin_code") + ": " + quantity);
+				}
+			}
+			if (bins.isEmpty()) {
+				return "SKU " + sku + " has no stock in any bin.";
+			}
+			return "SKU " + sku + " has " + total + " units in " + bins.size() + (bins.size() == 1 ? " bin" : " bins")
+					+ " - " + String.join(", ", bins) + "." + (truncated ? truncationNote() : "");
+		});
+	}
+
+	private IntentMatch pendingTasksOfWorker(String name, String taskType) {
+		List<Object> params = new ArrayList<>();
+		if (taskType != null) {
+			params.add(taskType);
+		}
+		params.add(name);
+		String sql = String.format(PENDING_TASKS_OF_WORKER_SQL, taskType != null ? TASK_TYPE_FILTER : "");
+		String kind = taskType != null ? "pending " + taskType.toLowerCase(Locale.ROOT) : "pending";
+
+		return new IntentMatch("pending-tasks-of-worker", sql, params, (rows, truncated) -> {
+			if (rows.isEmpty()) {
+				return null; // No such worker; the name may be something else entirely
+			}
+			String worker = String.valueOf(rows.get(0).get("worker_name"));
+			StringBuilder lines = new StringBuilder();
+			int count = 0;
+			for (Map<String, Object> row : rows) {
+				if (row.get("id") == null) {
+					continue;
+				}
+				count++;
+				lines.append("\nTask #").append(row.get("id")).append(", Type: ").append(row.get("task_type"));
+				if (row.get("suggested_location") != null) {
+					lines.append(", Location: ").append(row.get("suggested_location"));
+				}
+				lines.append('.');
+			}
+			if (count == 0) {
+				return worker + " has no " + kind + " tasks.";
+			}
+			return worker + " has " + count + (truncated ? "+ " : " ") + kind + (count == 1 ? " task:" : " tasks:")
+					+ lines + (truncated ? truncationNote() : "");
+		});
+	}
+
+	private IntentMatch pendingTasksPerWorker(String taskType) {
+		String sql = String.format(PENDING_TASKS_PER_WORKER_SQL, taskType != null ? TASK_TYPE_FILTER : "");
+		List<Object> params = taskType != null ? List.of(taskType) : List.of();
+		String kind = taskType != null ? "pending " + taskType.toLowerCase(Locale.ROOT) : "pending";
+
+		return new IntentMatch("pending-tasks-per-worker", sql, params, (rows, truncated) -> {
+			if (rows.isEmpty()) {
+				return "There are no " + kind + " tasks.";
+			}
+			StringBuilder answer = new StringBuilder(capitalize(kind) + " tasks per worker:");
+			for (Map<String, Object> row : rows) {
+				answer.append('\n').append(row.get("worker_name")).append(": ").append(row.get("pending"));
+			}
+			return answer + (truncated ? truncationNote() : "");
+		});
+	}
+
+	private IntentMatch shipmentsWithStatus(String status) {
+		return new IntentMatch("shipments-with-status", SHIPMENTS_WITH_STATUS_SQL, List.of(status), (rows, truncated) -> {
+			if (rows.isEmpty()) {
+				return "No shipments with status " + status + ".";
+			}
+			StringBuilder answer = new StringBuilder();
+			for (Map<String, Object> row : rows) {
+				answer.append("Shipment #").append(row.get("id"))
+						.append(", Type: ").append(row.get("shipment_type"))
+						.append(", Status: ").append(row.get("status"));
+				if (row.get("deadline") != null) {
+					answer.append(", Deadline: ").append(row.get("deadline"));
+				}
+				answer.append(".\n");
+			}
+			return answer.toString().trim() + (truncated ? truncationNote() : "");
+		});
+	}
+
+	private IntentMatch shipmentCount(String status) {
+		return new IntentMatch("shipment-count", SHIPMENT_COUNT_SQL, List.of(status), (rows, truncated) ->
+				thereAre(total(rows), "shipment", "shipments") + " with status " + status + ".");
+	}
+
+	private IntentMatch shipmentsByStatus() {
+		return new IntentMatch("shipments-by-status", SHIPMENTS_BY_STATUS_SQL, List.of(), (rows, truncated) -> {
+			if (rows.isEmpty()) {
+				return "There are no shipments.";
+			}
+			StringBuilder answer = new StringBuilder("Shipments by status:");
+			for (Map<String, Object> row : rows) {
+				answer.append('\n').append(row.get("status")).append(": ").append(row.get("total"));
+			}
+			return answer.toString();
+		});
+	}
+
+	private IntentMatch openIssues() {
+		return new IntentMatch("open-issues", OPEN_ISSUES_SQL, List.of(), (rows, truncated) -> {
+			if (rows.isEmpty()) {
+				return "There are no open issues.";
+			}
+			StringBuilder answer = new StringBuilder();
+			for (Map<String, Object> row : rows) {
+				answer.append("Issue #").append(row.get("id")).append(", Type: ").append(row.get("issue_type"));
+				if (row.get("reported_by") != null) {
+					answer.append(", Reported by: ").append(row.get("reported_by"));
+				}
+				if (row.get("description") != null) {
+					answer.append(", ").append(abbreviate(String.valueOf(row.get("description"))));
+				}
+				answer.append(".\n");
+			}
+			return answer.toString().trim() + (truncated ? truncationNote() : "");
+		});
+	}
+
+	private IntentMatch openIssueCount() {
+		return new IntentMatch("open-issue-count", OPEN_ISSUE_COUNT_SQL, List.of(), (rows, truncated) ->
+				thereAre(total(rows), "open issue", "open issues") + ".");
+	}
+
+	private String truncationNote() {
+		return "\n(Showing the first " + queryExecutor.getMaxRows()
+				+ " results. Ask a more specific question to narrow them down.)";
+	}
+
+	private static Matcher firstMatch(List<Pattern> patterns, String text) {
+		for (Pattern pattern : patterns) {
+			Matcher matcher = pattern.matcher(text);
+			if (matcher.matches()) {
+				return matcher;
+			}
+		}
+		return null;
+	}
+
+	private static String taskType(Matcher m) {
+		String type = m.group("type");
+		return type != null ? type.toUpperCase(Locale.ROOT) : null;
+	}
+
+	private static long total(List<Map<String, Object>> rows) {
+		return rows.isEmpty() ? 0 : ((Number) rows.get(0).get("total")).longValue();
+	}
+
+	private static String thereAre(long count, String singular, String plural) {
+		return count == 1 ? "There is 1 " + singular : "There are " + count + " " + plural;
+	}
+
+	private static String abbreviate(String text) {
+		String line = text.replaceAll("\\s+", " ").trim();
+		return line.length() <= MAX_DESCRIPTION_LENGTH ? line : line.substring(0, MAX_DESCRIPTION_LENGTH - 3) + "...";
+	}
+
+	private static String capitalize(String text) {
+		return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+	}
+
+	private static List<Pattern> patterns(String... regexes) {
+		List<Pattern> patterns = new ArrayList<>();
+		for (String regex : regexes) {
+			patterns.add(Pattern.compile(regex, Pattern.CASE_INSENSITIVE));
+		}
+		return List.copyOf(patterns);
+	}
+}
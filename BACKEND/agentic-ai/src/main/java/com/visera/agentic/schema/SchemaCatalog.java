@@ -0,0 +1,339 @@
+package com.visera.agentic.schema;
+
+import com.visera.agentic.util.QuestionNormalizer;
+import com.visera.agentic.util.SQLValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Schema of the tables the assistant may query (SQLValidator.ALLOWED_TABLES),
+ * read once from JDBC metadata, plus a keyword graph used to describe only the
+ * tables a question needs.
+ *
+ * A question selects the tables whose name, columns, synonyms or known enum
+ * values it mentions; tables on the foreign-key path between two selected
+ * tables are added so the LLM can write the JOIN. If nothing matches, the whole
+ * schema is described.
+ */
+@Slf4j
+@Component
+public class SchemaCatalog {
+
+	// Columns never described to the LLM
+	private static final Set<String> HIDDEN_COLUMNS = Set.of("password");
+
+	// Value hints that metadata cannot provide (string-typed enums)
+	private static final Map<String, String> VALUE_HINTS = Map.ofEntries(
+		Map.entry("products.status", "'Active', 'Inactive', 'LOW_STOCK'"),
+		Map.entry("shipments.shipment_type", "'INBOUND', 'OUTBOUND'"),
+		Map.entry("shipments.status", "'CREATED', 'ARRIVED', 'PUTAWAY', etc."),
+		Map.entry("shipment_items.status", "'RECEIVED', 'STORED', 'PICKED', 'PACKED', 'DISPATCHED'"),
+		Map.entry("tasks.task_type", "'PUTAWAY', 'PICKING'"),
+		Map.entry("tasks.status", "'PENDING', 'IN_PROGRESS', 'COMPLETED'"),
+		Map.entry("notifications.type", "'ALERT', 'INFO', 'WARNING', 'ERROR'"),
+		Map.entry("approvals.type", "'VERIFICATION_MISMATCH', 'MANUAL_OVERRIDE'"),
+		Map.entry("approvals.status", "'PENDING', 'APPROVED', 'REJECTED'"),
+		Map.entry("verification_logs.result", "'MATCH', 'MISMATCH', 'LOW_CONFIDENCE'"),
+		Map.entry("issues.issue_type", "'MISMATCH', 'DAMAGED', 'LOCATION', 'OTHER'"),
+		Map.entry("issues.status", "'OPEN', 'NOTED'"),
+		Map.entry("users.role", "'ADMIN', 'SUPERVISOR', 'WORKER'")
+	);
+
+	// Everyday words for tables, beyond what their names and columns give
+	private static final Map<String, List<String>> SYNONYMS = Map.ofEntries(
+		Map.entry("inventory", List.of("inventory_stock")),
+		Map.entry("stock", List.of("inventory_stock")),
+		Map.entry("location", List.of("bins", "racks", "zones")),
+		Map.entry("worker", List.of("users")),
+		Map.entry("employee", List.of("users")),
+		Map.entry("staff", List.of("users")),
+		Map.entry("supervisor", List.of("users")),
+		Map.entry("admin", List.of("users")),
+		Map.entry("people", List.of("users")),
+		Map.entry("assigned", List.of("shipment_workers", "users")),
+		Map.entry("mismatch", List.of("approvals", "verification_logs")),
+		Map.entry("verification", List.of("verification_logs")),
+		Map.entry("verified", List.of("verification_logs")),
+		Map.entry("alert", List.of("notifications")),
+		Map.entry("putaway", List.of("tasks")),
+		Map.entry("picking", List.of("tasks")),
+		Map.entry("inbound", List.of("shipments")),
+		Map.entry("outbound", List.of("shipments")),
+		Map.entry("order", List.of("shipments")),
+		Map.entry("item", List.of("shipment_items"))
+	);
+
+	// Column words too generic to select a table on their own
+	private static final Set<String> GENERIC_WORDS = Set.of(
+		"id", "name", "code", "status", "type", "created", "at", "updated", "description",
+		"by", "to", "url", "image", "is", "in", "data", "expected", "extracted", "quantity"
+	);
+
+	public record ColumnInfo(String name, String type, boolean nullable) {
+	}
+
+	public record ForeignKey(String column, String referencedTable, String referencedColumn) {
+	}
+
+	public record TableInfo(String name, List<ColumnInfo> columns, Set<String> primaryKey, List<ForeignKey> foreignKeys) {
+	}
+
+	// Everything read from metadata, published at once; null until the first successful load
+	private record Schema(Map<String, TableInfo> tables, Map<String, Set<String>> keywordIndex,
+			Map<String, Set<String>> neighbours) {
+	}
+
+	private final DataSource dataSource;
+
+	private volatile Schema schema;
+
+	public SchemaCatalog(DataSource dataSource) {
+		this.dataSource = dataSource;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadOnStartup() {
+		try {
+			ensureLoaded();
+		} catch (RuntimeException e) {
+			// The database may still be starting; the first question retries
+			log.warn("Schema introspection failed at startup: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tables relevant to the question, with their join paths; all tables when
+	 * the question names none of them.
+	 */
+	public Set<String> selectTables(String question) {
+		Schema current = ensureLoaded();
+		Map<String, Set<String>> keywordIndex = current.keywordIndex();
+		Set<String> seeds = new TreeSet<>();
+		for (String word : question.toLowerCase(Locale.ROOT).split("[^a-z_]+")) {
+			if (word.isEmpty()) {
+				continue;
+			}
+			seeds.addAll(keywordIndex.getOrDefault(word, Set.of()));
+			seeds.addAll(keywordIndex.getOrDefault(QuestionNormalizer.singular(word), Set.of()));
+		}
+		if (seeds.isEmpty()) {
+			return new TreeSet<>(current.tables().keySet());
+		}
+
+		Set<String> selected = new TreeSet<>(seeds);
+		List<String> seedList = new ArrayList<>(seeds);
+		for (int i = 0; i < seedList.size(); i++) {
+			for (int j = i + 1; j < seedList.size(); j++) {
+				selected.addAll(joinPath(current.neighbours(), seedList.get(i), seedList.get(j)));
+			}
+		}
+		return selected;
+	}
+
+	/**
+	 * Relationship list and table schemas for the given tables, in the prompt's format.
+	 */
+	public String describe(Set<String> tableNames) {
+		Map<String, TableInfo> tables = ensureLoaded().tables();
+		StringBuilder out = new StringBuilder();
+		out.append("Table Relationships (Use JOINs when querying related data):\n");
+		for (String table : tableNames) {
+			for (ForeignKey fk : tables.get(table).foreignKeys()) {
+				if (tableNames.contains(fk.referencedTable())) {
+					out.append("- ").append(table).append('.').append(fk.column())
+							.append(" → ").append(fk.referencedTable()).append('.').append(fk.referencedColumn()).append('\n');
+				}
+			}
+		}
+
+		out.append("\nAvailable Tables and Schemas:\n");
+		int number = 1;
+		for (String table : tableNames) {
+			TableInfo info = tables.get(table);
+			out.append('\n').append(number++).append(". ").append(table).append('\n');
+			Map<String, ForeignKey> fkByColumn = new HashMap<>();
+			for (ForeignKey fk : info.foreignKeys()) {
+				fkByColumn.put(fk.column(), fk);
+			}
+			for (ColumnInfo column : info.columns()) {
+				out.append("   - ").append(column.name()).append(" (").append(column.type());
+				if (info.primaryKey().contains(column.name())) {
+					out.append(", PRIMARY KEY");
+				}
+				ForeignKey fk = fkByColumn.get(column.name());
+				if (fk != null) {
+					out.append(", FOREIGN KEY to ").append(fk.referencedTable()).append('.').append(fk.referencedColumn());
+				}
+				if (column.nullable() && !info.primaryKey().contains(column.name())) {
+					out.append(", nullable");
+				}
+				out.append(')');
+				String hint = VALUE_HINTS.get(table + "." + column.name());
+				if (hint != null) {
+					out.append(" - values: ").append(hint);
+				}
+				out.append('\n');
+			}
+		}
+		return out.toString();
+	}
+
+	public Set<String> allTables() {
+		return new TreeSet<>(ensureLoaded().tables().keySet());
+	}
+
+	// Double-checked: after the first load every call is a single volatile read
+	private Schema ensureLoaded() {
+		Schema loadedSchema = schema;
+		if (loadedSchema == null) {
+			synchronized (this) {
+				loadedSchema = schema;
+				if (loadedSchema == null) {
+					loadedSchema = load();
+					schema = loadedSchema;
+				}
+			}
+		}
+		return loadedSchema;
+	}
+
+	private Schema load() {
+		Map<String, TableInfo> loaded = new TreeMap<>();
+		try (Connection connection = dataSource.getConnection()) {
+			DatabaseMetaData metaData = connection.getMetaData();
+			// MySQL names the database as the catalog; schema is null there and narrows other drivers
+			String catalog = connection.getCatalog();
+			String schema = connection.getSchema();
+			for (String table : SQLValidator.ALLOWED_TABLES) {
+				loaded.put(table, readTable(metaData, catalog, schema, table));
+			}
+		} catch (SQLException e) {
+			throw new RuntimeException("Failed to read database schema: " + e.getMessage(), e);
+		}
+
+		// Words naming a table select that table, not every table with a column like "sku_id"
+		Set<String> tableWords = new HashSet<>();
+		for (String table : loaded.keySet()) {
+			tableWords.add(QuestionNormalizer.singular(table));
+		}
+
+		Map<String, Set<String>> index = new HashMap<>();
+		Map<String, Set<String>> graph = new HashMap<>();
+		for (TableInfo table : loaded.values()) {
+			addKeyword(index, table.name(), table.name());
+			addKeyword(index, QuestionNormalizer.singular(table.name()), table.name());
+			for (String part : table.name().split("_")) {
+				addKeyword(index, QuestionNormalizer.singular(part), table.name());
+			}
+			Set<String> fkColumns = new HashSet<>();
+			for (ForeignKey fk : table.foreignKeys()) {
+				fkColumns.add(fk.column());
+			}
+			for (ColumnInfo column : table.columns()) {
+				if (fkColumns.contains(column.name())) {
+					continue; // Reached through the join path instead
+				}
+				for (String part : column.name().split("_")) {
+					String word = QuestionNormalizer.singular(part);
+					if (!GENERIC_WORDS.contains(part) && !tableWords.contains(word)) {
+						addKeyword(index, word, table.name());
+					}
+				}
+				String hint = VALUE_HINTS.get(table.name() + "." + column.name());
+				if (hint != null) {
+					for (String value : hint.toLowerCase(Locale.ROOT).split("[^a-z_]+")) {
+						if (!value.isEmpty() && !"etc".equals(value)) {
+							addKeyword(index, value, table.name());
+						}
+					}
+				}
+			}
+			for (ForeignKey fk : table.foreignKeys()) {
+				if (loaded.containsKey(fk.referencedTable())) {
+					graph.computeIfAbsent(table.name(), k -> new HashSet<>()).add(fk.referencedTable());
+					graph.computeIfAbsent(fk.referencedTable(), k -> new HashSet<>()).add(table.name());
+				}
+			}
+		}
+		SYNONYMS.forEach((word, targets) -> targets.forEach(target -> addKeyword(index, word, target)));
+
+		log.info("Loaded schema for {} tables", loaded.size());
+		return new Schema(loaded, index, graph);
+	}
+
+	private static TableInfo readTable(DatabaseMetaData metaData, String catalog, String schema, String table) throws SQLException {
+		List<ColumnInfo> columns = new ArrayList<>();
+		try (ResultSet rs = metaData.getColumns(catalog, schema, table, null)) {
+			while (rs.next()) {
+				String name = rs.getString("COLUMN_NAME");
+				if (!HIDDEN_COLUMNS.contains(name.toLowerCase(Locale.ROOT))) {
+					columns.add(new ColumnInfo(name, rs.getString("TYPE_NAME"),
+							rs.getInt("NULLABLE") == DatabaseMetaData.columnNullable));
+				}
+			}
+		}
+		Set<String> primaryKey = new HashSet<>();
+		try (ResultSet rs = metaData.getPrimaryKeys(catalog, schema, table)) {
+			while (rs.next()) {
+				primaryKey.add(rs.getString("COLUMN_NAME"));
+			}
+		}
+		List<ForeignKey> foreignKeys = new ArrayList<>();
+		try (ResultSet rs = metaData.getImportedKeys(catalog, schema, table)) {
+			while (rs.next()) {
+				foreignKeys.add(new ForeignKey(rs.getString("FKCOLUMN_NAME"),
+						rs.getString("PKTABLE_NAME").toLowerCase(Locale.ROOT), rs.getString("PKCOLUMN_NAME")));
+			}
+		}
+		return new TableInfo(table, columns, primaryKey, foreignKeys);
+	}
+
+	// Shortest foreign-key path between two tables (both ends included), or empty
+	private static List<String> joinPath(Map<String, Set<String>> neighbours, String from, String to) {
+		Map<String, String> previous = new LinkedHashMap<>();
+		Deque<String> queue = new ArrayDeque<>();
+		previous.put(from, null);
+		queue.add(from);
+		while (!queue.isEmpty()) {
+			String current = queue.poll();
+			if (current.equals(to)) {
+				List<String> path = new ArrayList<>();
+				for (String step = to; step != null; step = previous.get(step)) {
+					path.add(step);
+				}
+				return path;
+			}
+			for (String next : neighbours.getOrDefault(current, Set.of())) {
+				if (!previous.containsKey(next)) {
+					previous.put(next, current);
+					queue.add(next);
+				}
+			}
+		}
+		return List.of();
+	}
+
+	private static void addKeyword(Map<String, Set<String>> index, String word, String table) {
+		index.computeIfAbsent(word, k -> new TreeSet<>()).add(table);
+	}
+}
@@ -0,0 +1,175 @@
+package com.visera.agentic.service;
+
+import com.visera.agentic.config.QueryPriority;
+import com.visera.agentic.config.ReadOnlyDataSources;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs validated, generated SQL with a row cap, a query timeout and a fetch
+ * size, handing rows to the caller as they are read instead of materializing
+ * the whole result. Queries run on the read-only pool for their
+ * {@link QueryPriority}, under that priority's timeout.
+ */
+@Slf4j
+@Component
+public class QueryExecutor {
+
+	private final ReadOnlyDataSources dataSources;
+	private final int maxRows;
+	private final Map<QueryPriority, Integer> timeoutSeconds = new EnumMap<>(QueryPriority.class);
+	private final int fetchSize;
+
+	public QueryExecutor(
+			ReadOnlyDataSources dataSources,
+			@Value("${ai.query.max-rows:1000}") int maxRows,
+			@Value("${ai.query.timeout-seconds:10}") int timeoutSeconds,
+			@Value("${ai.query.bulk-timeout-seconds:60}") int bulkTimeoutSeconds,
+			@Value("${ai.query.fetch-size:200}") int fetchSize) {
+		this.dataSources = dataSources;
+		this.maxRows = maxRows;
+		this.timeoutSeconds.put(QueryPriority.INTERACTIVE, timeoutSeconds);
+		this.timeoutSeconds.put(QueryPriority.BULK, bulkTimeoutSeconds);
+		this.fetchSize = fetchSize;
+	}
+
+	@FunctionalInterface
+	public interface PageConsumer {
+		void accept(List<Map<String, Object>> page) throws Exception;
+	}
+
+	public record Result(int rowCount, boolean truncated) {
+	}
+
+	public record Column(String name, String type) {
+	}
+
+	/**
+	 * A whole (row-capped) result as positional rows, for callers that send
+	 * column metadata once instead of repeating column names in every row.
+	 */
+	public record Table(List<Column> columns, List<Object[]> rows, boolean truncated) {
+	}
+
+	public int getMaxRows() {
+		return maxRows;
+	}
+
+	/**
+	 * Single-value query (e.g. COUNT(*)), under the same timeout.
+	 */
+	public Integer queryForCount(String sql, QueryPriority priority) {
+		return jdbcTemplate(priority).query(con -> prepare(con.prepareStatement(sql), 1, priority),
+				rs -> rs.next() ? rs.getInt(1) : null);
+	}
+
+	/**
+	 * Runs a fixed, parameterized query (not generated SQL) and returns up to
+	 * max-rows + 1 rows, so the caller can tell the result was cut off.
+	 */
+	public List<Map<String, Object>> queryForRows(String sql, List<?> params, QueryPriority priority) {
+		return jdbcTemplate(priority).query(con -> {
+			PreparedStatement ps = prepare(con.prepareStatement(sql), maxRows + 1, priority);
+			for (int i = 0; i < params.size(); i++) {
+				ps.setObject(i + 1, params.get(i));
+			}
+			return ps;
+		}, new ColumnMapRowMapper());
+	}
+
+	/**
+	 * Reads up to max-rows rows with their column labels and SQL types.
+	 */
+	public Table queryForTable(String sql, QueryPriority priority) {
+		return jdbcTemplate(priority).query(con -> prepare(con.prepareStatement(sql), maxRows + 1, priority), (ResultSet rs) -> {
+			ResultSetMetaData meta = rs.getMetaData();
+			int columnCount = meta.getColumnCount();
+			List<Column> columns = new ArrayList<>(columnCount);
+			for (int i = 1; i <= columnCount; i++) {
+				columns.add(new Column(JdbcUtils.lookupColumnName(meta, i), meta.getColumnTypeName(i)));
+			}
+			List<Object[]> rows = new ArrayList<>();
+			boolean truncated = false;
+			while (rs.next()) {
+				if (rows.size() == maxRows) {
+					truncated = true;
+					break;
+				}
+				Object[] row = new Object[columnCount];
+				for (int i = 0; i < columnCount; i++) {
+					row[i] = JdbcUtils.getResultSetValue(rs, i + 1);
+				}
+				rows.add(row);
+			}
+			return new Table(columns, rows, truncated);
+		});
+	}
+
+	/**
+	 * Streams up to max-rows rows to the consumer in pages of pageSize. Reads one
+	 * extra row to report whether the result was cut off.
+	 */
+	public Result stream(String sql, int pageSize, QueryPriority priority, PageConsumer consumer) {
+		ColumnMapRowMapper rowMapper = new ColumnMapRowMapper();
+		return jdbcTemplate(priority).query(con -> prepare(con.prepareStatement(sql), maxRows + 1, priority), (ResultSet rs) -> {
+			List<Map<String, Object>> page = new ArrayList<>(pageSize);
+			int count = 0;
+			boolean truncated = false;
+			while (rs.next()) {
+				if (count == maxRows) {
+					truncated = true;
+					break;
+				}
+				page.add(rowMapper.mapRow(rs, count));
+				count++;
+				if (page.size() == pageSize) {
+					emit(consumer, page);
+					page = new ArrayList<>(pageSize);
+				}
+			}
+			if (!page.isEmpty()) {
+				emit(consumer, page);
+			}
+			if (truncated) {
+				log.info("Query result truncated at {} rows", maxRows);
+			}
+			return new Result(count, truncated);
+		});
+	}
+
+	private JdbcTemplate jdbcTemplate(QueryPriority priority) {
+		return dataSources.jdbcTemplate(priority);
+	}
+
+	private PreparedStatement prepare(PreparedStatement ps, int rowLimit, QueryPriority priority) throws SQLException {
+		ps.setMaxRows(rowLimit);
+		ps.setQueryTimeout(timeoutSeconds.get(priority));
+		// Some drivers reject a fetch size above the row limit (e.g. COUNT queries)
+		ps.setFetchSize(Math.min(fetchSize, rowLimit));
+		return ps;
+	}
+
+	private static void emit(PageConsumer consumer, List<Map<String, Object>> page) throws SQLException {
+		try {
+			consumer.accept(page);
+		} catch (SQLException | RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			// e.g. the client went away mid-stream; stop reading rows
+			throw new SQLException("Failed to write result page: " + e.getMessage(), e);
+		}
+	}
+}
@@ -1,49 +1,133 @@
 package com.visera.agentic.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.visera.agentic.cache.ResultCache;
+import com.visera.agentic.cache.ResultCursors;
+import com.visera.agentic.cache.TranslationCache;
 import com.visera.agentic.client.GeminiClient;
+import com.visera.agentic.config.QueryPriority;
+import com.visera.agentic.dto.StructuredAnswer;
+import com.visera.agentic.intent.IntentRouter;
 import com.visera.agentic.util.SQLValidator;
+import com.visera.agentic.util.SQLValidator.ValidatedSql;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class UnifiedAIService {
 
-	private final JdbcTemplate jdbcTemplate;
+	private final QueryExecutor queryExecutor;
 	private final GeminiClient geminiClient;
+	private final TranslationCache translationCache;
+	private final ResultCache resultCache;
+	private final ResultCursors resultCursors;
+	private final IntentRouter intentRouter;
+	private final SQLValidator sqlValidator;
+	private final ObjectMapper objectMapper;
+	private final ThreadPoolTaskExecutor aiExecutor;
 
-	public Object askQuestion(String question) {
+	@Value("${ai.query.stream-page-size:100}")
+	private int streamPageSize;
+
+	@Value("${ai.structured.page-size:100}")
+	private int structuredPageSize;
+
+	@Value("${ai.structured.max-page-size:500}")
+	private int structuredMaxPageSize;
+
+	/**
+	 * Answers asynchronously: the Gemini call holds no thread, and validation,
+	 * execution and formatting run on the AI executor. Frequent operational
+	 * questions are answered from local templates without Gemini at all.
+	 */
+	public CompletableFuture<Object> askQuestion(String question) {
+		// Step 0: a recognised intent runs its prepared query; Gemini is the fallback
+		Optional<IntentRouter.IntentMatch> intent = intentRouter.match(question);
+		if (intent.isPresent()) {
+			return onAiExecutor(() -> intentRouter.answer(intent.get()))
+					.thenCompose(answer -> answer != null
+							? CompletableFuture.<Object>completedFuture(answer)
+							: translateAndAnswer(question))
+					.exceptionally(this::errorAnswer);
+		}
+		return translateAndAnswer(question);
+	}
+
+	private CompletableFuture<Object> translateAndAnswer(String question) {
+		return translate(question)
+				.thenCompose(resolved -> onAiExecutor(() -> answer(question, resolved)))
+				.exceptionally(this::errorAnswer);
+	}
+
+	// Step 1: Reuse a cached translation, or generate SQL using Gemini AI (single call)
+	private CompletableFuture<Translation> translate(String question) {
 		try {
-			// Step 1: Generate SQL from natural language using Gemini AI (single call)
-			String sql = geminiClient.generateSQL(question);
-			log.info("Generated SQL: {}", sql);
-
-			// Step 2: Validate SQL for security
-			SQLValidator.validate(sql);
-			log.info("SQL validation passed");
-
-			// Step 3: Execute query based on type
-			if (sql.toLowerCase().contains("count")) {
-				// COUNT query handling
-				Integer count = jdbcTemplate.queryForObject(sql, Integer.class);
-				return "There are " + count + " records matching your request.";
-			}
+			return translationCache.lookup(question)
+					.map(sql -> CompletableFuture.completedFuture(new Translation(sql, true)))
+					.orElseGet(() -> geminiClient.generateSQLAsync(question)
+							.thenApply(sql -> new Translation(sql, false)));
+		} catch (RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
 
-			// LIST query handling
-			List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql);
+	// A saturated executor throws from execute(); turn that into a failed future
+	// so it reaches errorAnswer instead of escaping on the completing thread
+	private <T> CompletableFuture<T> onAiExecutor(Supplier<T> work) {
+		try {
+			return CompletableFuture.supplyAsync(work, aiExecutor);
+		} catch (RejectedExecutionException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	private Object errorAnswer(Throwable error) {
+		Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+		if (cause instanceof RejectedExecutionException) {
+			log.warn("AI executor saturated, rejecting question");
+			return "The assistant is busy right now. Please try again in a moment.";
+		}
+		log.error("Error processing question: {}", cause.getMessage());
+		return "Error: " + cause.getMessage();
+	}
 
-			if (rows.isEmpty()) {
-				return "No records found.";
+	private Object answer(String question, Translation translation) {
+		try {
+			// Step 2: validate; a cached answer for the same statement over unchanged tables skips the database
+			ResolvedSql resolved = validate(translation);
+			ValidatedSql query = resolved.query();
+			Optional<String> cached = resultCache.lookup(query);
+			if (cached.isPresent()) {
+				log.info("Using cached result for: {}", query.sql());
+				rememberTranslation(question, resolved);
+				return cached.get();
 			}
 
-			// Step 4: Format response as natural language
-			return formatResponse(rows);
+			// Step 3: execute, bounded by row cap and timeout
+			Map<String, Long> versions = resultCache.versionsBefore(query);
+			String answer = execute(query.sql());
+			rememberTranslation(question, resolved);
+			resultCache.put(query, versions, answer);
+			return answer;
 
 		} catch (RuntimeException e) {
 			log.error("Error processing question: {}", e.getMessage());
@@ -54,9 +138,186 @@ public class UnifiedAIService {
 		}
 	}
 
-	private String formatResponse(List<Map<String, Object>> rows) {
+	private String execute(String sql) throws IOException {
+		if (isCountQuery(sql)) {
+			// COUNT query handling
+			Integer count = queryExecutor.queryForCount(sql, QueryPriority.INTERACTIVE);
+			return "There are " + count + " records matching your request.";
+		}
+
+		// LIST query handling, formatting rows as they are read (Step 4)
 		StringBuilder response = new StringBuilder();
+		QueryExecutor.Result result = queryExecutor.stream(sql, streamPageSize, QueryPriority.INTERACTIVE,
+				page -> formatRows(page, response));
+
+		if (result.rowCount() == 0) {
+			return "No records found.";
+		}
+		if (result.truncated()) {
+			response.append(truncationNote());
+		}
+		return response.toString().trim();
+	}
+
+	/**
+	 * Streams the answer as newline-delimited JSON events written while rows are
+	 * read: "count" for COUNT queries, otherwise one "rows" event per page (raw
+	 * rows plus their formatted lines) and a closing "end" event; "error" on failure.
+	 * The translation is awaited without holding a thread; the returned body
+	 * validates and runs the query when the response is written.
+	 */
+	public CompletableFuture<StreamingResponseBody> streamAnswer(String question) {
+		return translate(question)
+				.handle((translation, error) -> out -> writeStream(question, translation, error, out));
+	}
+
+	private void writeStream(String question, Translation translation, Throwable error, OutputStream out) throws IOException {
+		SequenceWriter writer = objectMapper.writer()
+				.withRootValueSeparator("\n")
+				.writeValues(out);
+		try {
+			if (error != null) {
+				Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+				throw cause instanceof RuntimeException runtime ? runtime : new RuntimeException(cause);
+			}
+			ResolvedSql resolved = validate(translation);
+			String sql = resolved.query().sql();
+
+			if (isCountQuery(sql)) {
+				Integer count = queryExecutor.queryForCount(sql, QueryPriority.BULK);
+				rememberTranslation(question, resolved);
+				writeEvent(writer, out, Map.of("type", "count", "count", count == null ? 0 : count));
+				return;
+			}
+
+			int[] pageNumber = {0};
+			// Streams may read many rows slowly, so they run on the bulk pool
+			QueryExecutor.Result result = queryExecutor.stream(sql, streamPageSize, QueryPriority.BULK, page -> {
+				StringBuilder lines = new StringBuilder();
+				formatRows(page, lines);
+				Map<String, Object> event = new LinkedHashMap<>();
+				event.put("type", "rows");
+				event.put("page", pageNumber[0]++);
+				event.put("rows", page);
+				event.put("lines", List.of(lines.toString().split("\n")));
+				writeEvent(writer, out, event);
+			});
+			rememberTranslation(question, resolved);
+
+			Map<String, Object> end = new LinkedHashMap<>();
+			end.put("type", "end");
+			end.put("rowCount", result.rowCount());
+			end.put("truncated", result.truncated());
+			if (result.truncated()) {
+				end.put("message", truncationNote().trim());
+			}
+			writeEvent(writer, out, end);
+		} catch (RuntimeException e) {
+			log.error("Error streaming answer: {}", e.getMessage());
+			writeEvent(writer, out, Map.of("type", "error", "message", String.valueOf(e.getMessage())));
+		}
+	}
+
+	/**
+	 * Answers with column metadata and positional rows instead of prose, one
+	 * page at a time. When more rows remain the page carries a cursor; later
+	 * pages are cut from the same result without running the query again.
+	 */
+	public CompletableFuture<StructuredAnswer> askStructured(String question, String format, Integer pageSize) {
+		return translate(question)
+				.thenCompose(resolved -> onAiExecutor(() -> {
+					ResolvedSql query = validate(resolved);
+					QueryExecutor.Table table = queryExecutor.queryForTable(query.query().sql(), QueryPriority.INTERACTIVE);
+					rememberTranslation(question, query);
+					return page(table, 0, null, format, pageSize);
+				}))
+				.exceptionally(this::structuredError);
+	}
+
+	/**
+	 * The page a cursor from an earlier structured answer points at.
+	 */
+	public StructuredAnswer continueStructured(String cursor, String format, Integer pageSize) {
+		return resultCursors.resolve(cursor)
+				.map(position -> page(position.table(), position.offset(), cursor, format, pageSize))
+				.orElseGet(() -> StructuredAnswer.builder()
+						.error("This result has expired. Please ask the question again.")
+						.build());
+	}
+
+	private StructuredAnswer page(QueryExecutor.Table table, int offset, String cursor, String format, Integer pageSize) {
+		int size = pageSize == null || pageSize <= 0 ? structuredPageSize : Math.min(pageSize, structuredMaxPageSize);
+		int end = Math.min(offset + size, table.rows().size());
+		List<Object[]> rows = table.rows().subList(offset, end);
+
+		String nextCursor = null;
+		if (end < table.rows().size()) {
+			// The first page stores the result; later pages only move the offset
+			nextCursor = cursor == null ? resultCursors.open(table, end) : resultCursors.next(cursor, end);
+		}
+
+		StructuredAnswer.StructuredAnswerBuilder answer = StructuredAnswer.builder()
+				.columns(table.columns())
+				.offset(offset)
+				.rowCount(rows.size())
+				.totalRows(table.rows().size())
+				.truncated(table.truncated())
+				.nextCursor(nextCursor);
+		if ("columns".equalsIgnoreCase(format)) {
+			List<List<Object>> data = new ArrayList<>(table.columns().size());
+			for (int i = 0; i < table.columns().size(); i++) {
+				List<Object> values = new ArrayList<>(rows.size());
+				for (Object[] row : rows) {
+					values.add(row[i]);
+				}
+				data.add(values);
+			}
+			return answer.format("columns").data(data).build();
+		}
+		return answer.format("rows").rows(rows).build();
+	}
+
+	private StructuredAnswer structuredError(Throwable error) {
+		return StructuredAnswer.builder().error(String.valueOf(errorAnswer(error))).build();
+	}
 
+	private record Translation(String sql, boolean cached) {
+	}
+
+	private record ResolvedSql(ValidatedSql query, boolean cached) {
+	}
+
+	private ResolvedSql validate(Translation translation) {
+		// Step 2: Validate SQL for security (cached SQL too, since templates are re-filled);
+		// the validator returns the statement with its row LIMIT enforced
+		ValidatedSql query = sqlValidator.validate(translation.sql());
+		log.info("SQL validation passed: {}", query.sql());
+		return new ResolvedSql(query, translation.cached());
+	}
+
+	private static boolean isCountQuery(String sql) {
+		return sql.toLowerCase().contains("count");
+	}
+
+	private String truncationNote() {
+		return "\n(Showing the first " + queryExecutor.getMaxRows()
+				+ " results. Ask a more specific question to narrow them down.)";
+	}
+
+	private static void writeEvent(SequenceWriter writer, OutputStream out, Object event) throws IOException {
+		writer.write(event);
+		out.flush();
+	}
+
+	// Only SQL that passed validation and ran is cached
+	private void rememberTranslation(String question, ResolvedSql resolved) {
+		if (!resolved.cached()) {
+			translationCache.put(question, resolved.query().sql());
+		}
+	}
+
+	// Appends one line per row, so callers can write straight to their output
+	private void formatRows(List<Map<String, Object>> rows, Appendable response) throws IOException {
 		for (Map<String, Object> row : rows) {
 			// Extract common fields that might be present
 			Object id = row.get("id");
@@ -80,57 +341,55 @@ public class UnifiedAIService {
 			// Build response based on available fields - prioritize joined data
 			if (productName != null && code != null) {
 				// Product name with SKU code or other code
-				response.append("Product: ").append(productName);
+				response.append("Product: ").append(String.valueOf(productName));
 				if (code != null) {
-					response.append(", Code: ").append(code);
+					response.append(", Code: ").append(String.valueOf(code));
 				}
 			} else if (name != null && code != null) {
 				// Name with code
-				response.append(name).append(" (Code: ").append(code).append(")");
+				response.append(String.valueOf(name)).append(" (Code: ").append(String.valueOf(code)).append(")");
 			} else if (productName != null) {
-				response.append("Product: ").append(productName);
+				response.append("Product: ").append(String.valueOf(productName));
 			} else if (name != null) {
-				response.append(name);
+				response.append(String.valueOf(name));
 			} else if (code != null) {
-				response.append("Code: ").append(code);
+				response.append("Code: ").append(String.valueOf(code));
 			} else if (id != null) {
-				response.append("Record ID ").append(id);
+				response.append("Record ID ").append(String.valueOf(id));
 			} else {
 				response.append("Record");
 			}
 
 			if (workerName != null) {
-				response.append(", Worker: ").append(workerName);
+				response.append(", Worker: ").append(String.valueOf(workerName));
 			}
 
 			if (status != null) {
-				response.append(", Status: ").append(status);
+				response.append(", Status: ").append(String.valueOf(status));
 			}
 
 			if (type != null) {
-				response.append(", Type: ").append(type);
+				response.append(", Type: ").append(String.valueOf(type));
 			}
 
 			if (category != null) {
-				response.append(", Category: ").append(category);
+				response.append(", Category: ").append(String.valueOf(category));
 			}
 
 			if (quantity != null) {
-				response.append(", Quantity: ").append(quantity);
+				response.append(", Quantity: ").append(String.valueOf(quantity));
 			}
 
 			if (role != null) {
-				response.append(", Role: ").append(role);
+				response.append(", Role: ").append(String.valueOf(role));
 			}
 
 			if (email != null) {
-				response.append(", Email: ").append(email);
+				response.append(", Email: ").append(String.valueOf(email));
 			}
 
 			response.append(".\n");
 		}
-
-		return response.toString().trim();
 	}
 }
 
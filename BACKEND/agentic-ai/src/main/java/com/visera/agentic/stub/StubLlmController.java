@@ -0,0 +1,68 @@
+package com.visera.agentic.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stand-in for the Gemini generateContent endpoint, for load tests without API
+ * quota or network. Enabled only with the "llm-stub" profile, which also points
+ * gemini.api.url here. Replies with canned SQL picked by keyword after a fixed
+ * delay; the delay holds no request thread.
+ */
+@Slf4j
+@Profile("llm-stub")
+@RestController
+@RequestMapping("/stub/gemini")
+public class StubLlmController {
+
+	// First matching keyword wins
+	private static final Map<String, String> CANNED_SQL = new LinkedHashMap<>();
+
+	static {
+		CANNED_SQL.put("how many", "SELECT COUNT(*) FROM tasks t WHERE t.status = 'PENDING'");
+		CANNED_SQL.put("sku", "SELECT p.name AS productName, s.sku_code AS skuCode FROM products p INNER JOIN skus s ON p.id = s.product_id");
+		CANNED_SQL.put("inventory", "SELECT s.sku_code AS skuCode, b.code AS binCode, inv.quantity AS quantity FROM inventory_stock inv INNER JOIN skus s ON inv.sku_id = s.id INNER JOIN bins b ON inv.bin_id = b.id");
+		CANNED_SQL.put("task", "SELECT t.id AS id, t.task_type AS taskType, t.status AS status FROM tasks t");
+		CANNED_SQL.put("shipment", "SELECT sh.id AS id, sh.shipment_type AS shipmentType, sh.status AS status FROM shipments sh");
+	}
+
+	// GeminiClient ends its prompt with "Question: ..." then "SQL Query:"
+	private static final String QUESTION_MARKER = "Question:";
+
+	private static final String DEFAULT_SQL =
+			"SELECT p.name AS name, p.product_code AS productCode, p.status AS status FROM products p";
+
+	@Value("${ai.llm-stub.delay-ms:800}")
+	private long delayMs;
+
+	@PostMapping
+	public CompletableFuture<Map<String, Object>> generateContent(@RequestBody JsonNode request) {
+		String prompt = request.path("contents").path(0).path("parts").path(0).path("text").asText("");
+		int at = prompt.lastIndexOf(QUESTION_MARKER);
+		String question = (at >= 0 ? prompt.substring(at + QUESTION_MARKER.length()) : prompt).toLowerCase(Locale.ROOT);
+
+		String sql = CANNED_SQL.entrySet().stream()
+				.filter(entry -> question.contains(entry.getKey()))
+				.map(Map.Entry::getValue)
+				.findFirst()
+				.orElse(DEFAULT_SQL);
+
+		Map<String, Object> response = Map.of("candidates", List.of(
+				Map.of("content", Map.of("parts", List.of(Map.of("text", sql))))));
+		return CompletableFuture.supplyAsync(() -> response,
+				CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS));
+	}
+}
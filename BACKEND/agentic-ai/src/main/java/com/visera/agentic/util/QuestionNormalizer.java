@@ -0,0 +1,140 @@
+package com.visera.agentic.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reduces a natural-language question to the keys used by the translation cache.
+ *
+ * The exact key is the question lower-cased with whitespace and trailing
+ * punctuation collapsed. The template key additionally pulls out literals
+ * (quoted text, numbers and codes containing digits) as typed placeholders,
+ * drops filler words and folds synonyms and plurals, keeping the remaining
+ * words in order: "how many tasks are pending" and "count of pending tasks"
+ * share a key, while "products with no skus" and "skus with no products" do not.
+ *
+ * Each literal is labelled by the word in front of it and its kind ("after:s",
+ * "bin:s"). That word leaves the word sequence and the sorted labels are
+ * appended to the key instead. Cached SQL is filled by label, so "after X and
+ * before Y" and "before Y and after X" share a template without swapping X and Y.
+ */
+@UtilityClass
+public class QuestionNormalizer {
+
+	// Quoted text, then codes/numbers such as SKU-1001, A3-B2-01, 42 or 2.5
+	private static final Pattern LITERAL = Pattern.compile(
+			"'([^']*)'|\"([^\"]*)\"|\\b([A-Za-z]*\\d[\\w-]*)\\b");
+
+	private static final Pattern NUMBER = Pattern.compile("\\d+(\\.\\d+)?");
+
+	private static final Set<String> FILLER = Set.of(
+			"the", "is", "are", "was", "were", "be", "do", "does", "there", "please",
+			"me", "us", "i", "we", "can", "could", "would", "you", "tell", "what",
+			"which", "of", "currently", "now", "right", "exist", "existing");
+
+	// Phrases folded before tokenizing, longest first
+	private static final List<String[]> PHRASES = List.of(
+			new String[] {"total number of", "count"},
+			new String[] {"how many", "count"},
+			new String[] {"number of", "count"},
+			new String[] {"in progress", "in_progress"});
+
+	// Words that ask for the same thing; anything not listed is kept as-is
+	private static final Map<String, String> SYNONYMS = Map.of(
+			"show", "list",
+			"display", "list",
+			"get", "list",
+			"give", "list",
+			"find", "list",
+			"fetch", "list",
+			"retrieve", "list",
+			"all", "list",
+			"many", "count");
+
+	/**
+	 * literals maps each literal's label to its text, in question order.
+	 */
+	public record NormalizedQuestion(String exactKey, String templateKey, Map<String, String> literals) {
+	}
+
+	public static NormalizedQuestion normalize(String question) {
+		String exactKey = question.toLowerCase()
+				.replaceAll("\\s+", " ")
+				.replaceAll("[\\s?.!]+$", "")
+				.trim();
+
+		Map<String, String> literals = new LinkedHashMap<>();
+		Map<String, Integer> labelCounts = new HashMap<>();
+		List<String> words = new ArrayList<>();
+		String previousWord = "^";
+		Matcher matcher = LITERAL.matcher(question);
+		int textStart = 0;
+		while (matcher.find()) {
+			List<String> before = words(question.substring(textStart, matcher.start()));
+			if (!before.isEmpty()) {
+				// The word in front of the literal travels with it in the label
+				words.addAll(before.subList(0, before.size() - 1));
+				previousWord = before.get(before.size() - 1);
+			}
+			textStart = matcher.end();
+
+			String literal = matcher.group(1) != null ? matcher.group(1)
+					: matcher.group(2) != null ? matcher.group(2)
+					: matcher.group(3);
+			String label = previousWord + ":" + (NUMBER.matcher(literal).matches() ? 'n' : 's');
+			// Literals with the same label (e.g. "bin A1 and bin A2"'s second "bin") stay in order
+			int seen = labelCounts.merge(label, 1, Integer::sum);
+			literals.put(seen == 1 ? label : label + "#" + seen, literal);
+		}
+		words.addAll(words(question.substring(textStart)));
+
+		String templateKey = String.join(" ", words) + "|" + String.join(",", new TreeSet<>(literals.keySet()));
+		return new NormalizedQuestion(exactKey, templateKey, literals);
+	}
+
+	// The non-filler words of a stretch of question text, phrases folded, singular, synonyms replaced
+	private static List<String> words(String segment) {
+		String text = " " + segment.toLowerCase().replaceAll("[^a-z_\\s]", " ").replaceAll("\\s+", " ") + " ";
+		for (String[] phrase : PHRASES) {
+			text = text.replace(" " + phrase[0] + " ", " " + phrase[1] + " ");
+		}
+
+		List<String> words = new ArrayList<>();
+		for (String token : text.trim().split(" ")) {
+			if (token.isEmpty() || FILLER.contains(token)) {
+				continue;
+			}
+			String word = singular(token);
+			words.add(SYNONYMS.getOrDefault(word, word));
+		}
+		return words;
+	}
+
+	public static boolean isNumber(String literal) {
+		return NUMBER.matcher(literal).matches();
+	}
+
+	/**
+	 * Naive English singular ("categories" → "category", "bins" → "bin"); also
+	 * used by SchemaCatalog so question words and schema keywords fold alike.
+	 */
+	public static String singular(String word) {
+		if (word.length() > 3 && word.endsWith("ies")) {
+			return word.substring(0, word.length() - 3) + "y";
+		}
+		if (word.length() > 3 && word.endsWith("s")
+				&& !word.endsWith("ss") && !word.endsWith("us") && !word.endsWith("is")) {
+			return word.substring(0, word.length() - 1);
+		}
+		return word;
+	}
+}
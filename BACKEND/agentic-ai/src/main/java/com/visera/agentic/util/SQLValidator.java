@@ -1,64 +1,316 @@
 package com.visera.agentic.util;
 
-import lombok.experimental.UtilityClass;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.AnalyticExpression;
+import net.sf.jsqlparser.expression.Function;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.parser.ASTNodeAccessImpl;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.Statements;
+import net.sf.jsqlparser.statement.select.AllColumns;
+import net.sf.jsqlparser.statement.select.FromItem;
+import net.sf.jsqlparser.statement.select.Limit;
+import net.sf.jsqlparser.statement.select.ParenthesedFromItem;
+import net.sf.jsqlparser.statement.select.ParenthesedSelect;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.select.SetOperationList;
+import net.sf.jsqlparser.statement.select.WithItem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
 
-@UtilityClass
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Validates generated SQL on its parse tree rather than on the raw text: the
+ * input must be exactly one SELECT (set operations and CTEs included) that reads
+ * only allowed tables, never touches forbidden columns or functions, and takes
+ * no locks. The accepted statement is re-rendered with a LIMIT of at most
+ * max-rows + 1, one extra row so the executor can tell the result was cut off.
+ *
+ * Outcomes, including rejections, are cached by statement text, so a repeated
+ * translation is not parsed again.
+ */
+@Slf4j
+@Component
 public class SQLValidator {
 
-	// Allowed tables for read-only queries
-	private static final String[] ALLOWED_TABLES = {
+	// Allowed tables for read-only queries; also the tables SchemaCatalog describes to the LLM
+	public static final Set<String> ALLOWED_TABLES = Set.of(
 		"products", "skus", "shipments", "shipment_items", "shipment_workers",
 		"tasks", "inventory_stock", "bins", "racks", "zones",
 		"notifications", "approvals", "verification_logs", "issues", "users"
-	};
+	);
+
+	private static final Set<String> FORBIDDEN_COLUMNS = Set.of("password");
+
+	// Functions that can stall the server or reach outside the allowed tables
+	private static final Set<String> FORBIDDEN_FUNCTIONS = Set.of(
+		"sleep", "benchmark", "load_file", "get_lock", "release_lock", "is_free_lock",
+		"is_used_lock", "master_pos_wait", "source_pos_wait", "database", "schema",
+		"user", "current_user", "session_user", "system_user", "version", "connection_id"
+	);
+
+	private static final int MAX_SQL_LENGTH = 10_000;
 
-	public static void validate(String sql) {
-		// Normalize: lowercase, collapse whitespace
-		String q = sql
-				.toLowerCase()
-				.replaceAll("\\s+", " ")
-				.trim();
+	/**
+	 * A statement that passed validation, with its LIMIT enforced, and the
+	 * (unqualified, lower-case) tables it reads.
+	 */
+	public record ValidatedSql(String sql, Set<String> tables) {
+	}
+
+	private record Outcome(ValidatedSql validated, String error) {
+	}
 
-		// ✅ Rule 1: Only allow SELECT queries
-		if (!q.startsWith("select")) {
+	private final Cache<String, Outcome> outcomes;
+	private final long rowLimit;
+
+	public SQLValidator(
+			@Value("${ai.query.max-rows:1000}") int maxRows,
+			@Value("${ai.sql-validator.cache-size:2000}") long cacheSize) {
+		this.rowLimit = maxRows + 1L;
+		this.outcomes = Caffeine.newBuilder().maximumSize(cacheSize).build();
+	}
+
+	/**
+	 * Returns the statement to execute (with its LIMIT enforced), or throws if the
+	 * SQL is not a safe read-only query.
+	 */
+	public ValidatedSql validate(String sql) {
+		if (sql == null || sql.isBlank()) {
 			throw new RuntimeException("Only SELECT queries are allowed");
 		}
+		Outcome outcome = outcomes.get(sql.trim(), this::check);
+		if (outcome.error() != null) {
+			throw new RuntimeException(outcome.error());
+		}
+		return outcome.validated();
+	}
+
+	private Outcome check(String sql) {
+		if (sql.length() > MAX_SQL_LENGTH) {
+			return new Outcome(null, "Query is too long");
+		}
+
+		Statement statement;
+		try {
+			Statements statements = CCJSqlParserUtil.parseStatements(sql);
+			if (statements.size() != 1) {
+				return new Outcome(null, "Exactly one SQL statement is allowed");
+			}
+			statement = statements.get(0);
+		} catch (JSQLParserException e) {
+			log.debug("Rejected unparseable SQL: {}", e.getMessage());
+			return new Outcome(null, "Could not parse the generated SQL");
+		}
+
+		// ✅ Rule 1: Only allow SELECT queries (not TABLE or VALUES), without INTO or locking clauses anywhere
+		if (!(statement instanceof Select select)) {
+			return new Outcome(null, "Only SELECT queries are allowed");
+		}
+		ReferenceCollector references = new ReferenceCollector();
+		references.walk(select);
+		if (references.violation != null) {
+			return new Outcome(null, references.violation);
+		}
+
+		// ✅ Rule 2: Must read ONLY from allowed tables (subqueries and UNIONs included)
+		Set<String> tables = references.readTables();
+		for (String table : tables) {
+			// Schema-qualified names could point at another database
+			if (table.contains(".") || !ALLOWED_TABLES.contains(unqualified(table))) {
+				return new Outcome(null, "Query must read only from allowed tables: " + String.join(", ", new TreeSet<>(ALLOWED_TABLES)));
+			}
+		}
+
+		// ✅ Rule 3: Block forbidden columns, including users.* / SELECT * over users; the
+		// plain substring check stays as a backstop for anything the tree walk could miss
+		if (references.columns.stream().anyMatch(FORBIDDEN_COLUMNS::contains)
+				|| FORBIDDEN_COLUMNS.stream().anyMatch(sql.toLowerCase(Locale.ROOT)::contains)) {
+			return new Outcome(null, "Password field cannot be selected");
+		}
+		if (references.selectsAllColumns && tables.stream().map(SQLValidator::unqualified).anyMatch("users"::equals)) {
+			return new Outcome(null, "Select explicit columns when querying users");
+		}
+
+		// ❌ Rule 4: Block dangerous functions
+		for (String function : references.functions) {
+			if (FORBIDDEN_FUNCTIONS.contains(function)) {
+				return new Outcome(null, "Function not allowed: " + function);
+			}
+		}
+
+		enforceLimit(select);
+		Set<String> readTables = tables.stream().map(SQLValidator::unqualified).collect(Collectors.toUnmodifiableSet());
+		return new Outcome(new ValidatedSql(select.toString(), readTables), null);
+	}
+
+	// Adds a LIMIT, or lowers one that asks for more rows than the cap
+	private void enforceLimit(Select select) {
+		Limit limit = select.getLimit();
+		if (limit == null) {
+			select.setLimit(new Limit().withRowCount(new LongValue(rowLimit)));
+		} else if (!(limit.getRowCount() instanceof LongValue rowCount) || rowCount.getValue() > rowLimit) {
+			limit.setRowCount(new LongValue(rowLimit));
+		}
+	}
+
+	private static String unqualified(String name) {
+		String table = name.substring(name.lastIndexOf('.') + 1);
+		return table.replace("`", "").toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Records the tables, columns, functions and wildcards of a statement by
+	 * visiting every node of its parse tree. A visitor only descends into the
+	 * expression types it knows about, which let columns inside JSON_OBJECT,
+	 * GROUP_CONCAT or window clauses go unseen; walking the fields reflectively
+	 * reaches them whatever expression holds them.
+	 *
+	 * CTE names are resolved by scope as MySQL does: a CTE is visible to the
+	 * statement body and to the CTEs after it, but not to its own definition
+	 * (unless WITH RECURSIVE) or to those before it. "WITH users AS (SELECT *
+	 * FROM users) ..." therefore still counts as a read of the users table.
+	 */
+	private static class ReferenceCollector {
+		private final Set<String> columns = new HashSet<>();
+		private final Set<String> functions = new HashSet<>();
+		private final Set<String> fromTables = new HashSet<>();
+		// CTE names visible where the walk currently is
+		private Set<String> visibleCtes = Set.of();
+		private boolean selectsAllColumns;
+		private String violation;
+		private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		void walk(Object node) {
+			if (node == null || node instanceof Enum<?> || !visited.add(node)) {
+				return;
+			}
+			if (node instanceof Iterable<?> children) {
+				children.forEach(this::walk);
+				return;
+			}
+			if (node instanceof Map<?, ?> children) {
+				walk(children.keySet());
+				walk(children.values());
+				return;
+			}
+			if (node instanceof Object[] children) {
+				Arrays.stream(children).forEach(this::walk);
+				return;
+			}
+			if (!node.getClass().getName().startsWith("net.sf.jsqlparser.")) {
+				return;
+			}
+			Set<String> outerCtes = visibleCtes;
+			if (node instanceof Select select && select.getWithItemsList() != null) {
+				walkWithItems(select.getWithItemsList());
+			}
+			inspect(node);
+			// The parser's own node and token bookkeeping is not part of the statement
+			for (Class<?> type = node.getClass(); type != ASTNodeAccessImpl.class && type != Object.class; type = type.getSuperclass()) {
+				for (Field field : type.getDeclaredFields()) {
+					if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()) {
+						continue;
+					}
+					try {
+						field.setAccessible(true);
+						walk(field.get(node));
+					} catch (ReflectiveOperationException | RuntimeException e) {
+						violation = "Unsupported SQL construct: " + node.getClass().getSimpleName();
+					}
+				}
+			}
+			visibleCtes = outerCtes;
+		}
+
+		// Walks each CTE body with the names defined before it in scope, then leaves all
+		// of them in scope for the rest of the statement; visited items are not walked again
+		private void walkWithItems(List<WithItem<?>> withItems) {
+			boolean recursive = withItems.stream().anyMatch(WithItem::isRecursive);
+			Set<String> scope = new HashSet<>(visibleCtes);
+			for (WithItem<?> with : withItems) {
+				String name = with.getAlias() != null ? normalized(with.getAlias().getName()) : null;
+				if (recursive && name != null) {
+					scope.add(name);
+				}
+				visibleCtes = Set.copyOf(scope);
+				walk(with);
+				if (name != null) {
+					scope.add(name);
+				}
+			}
+			visibleCtes = Set.copyOf(scope);
+		}
+
+		private void inspect(Object node) {
+			if (node instanceof Select select) {
+				if (!(select instanceof PlainSelect || select instanceof SetOperationList || select instanceof ParenthesedSelect)) {
+					violation = "Only SELECT queries are allowed";
+				} else if (select.getForMode() != null) {
+					violation = "SELECT ... INTO and locking reads are not allowed";
+				}
+				if (select instanceof PlainSelect plain) {
+					if (plain.getIntoTables() != null || plain.getIntoTempTable() != null) {
+						violation = "SELECT ... INTO and locking reads are not allowed";
+					}
+					addFromTable(plain.getFromItem());
+					if (plain.getJoins() != null) {
+						plain.getJoins().forEach(join -> addFromTable(join.getFromItem()));
+					}
+				}
+			} else if (node instanceof ParenthesedFromItem parenthesed) {
+				addFromTable(parenthesed.getFromItem());
+				if (parenthesed.getJoins() != null) {
+					parenthesed.getJoins().forEach(join -> addFromTable(join.getFromItem()));
+				}
+			} else if (node instanceof Column column) {
+				columns.add(normalized(column.getColumnName()));
+			} else if (node instanceof Function function && function.getName() != null) {
+				functions.add(unqualified(function.getName()));
+			} else if (node instanceof AnalyticExpression analytic && analytic.getName() != null) {
+				functions.add(unqualified(analytic.getName()));
+			} else if (node instanceof AllColumns) {
+				// Also AllTableColumns (users.*)
+				selectsAllColumns = true;
+			}
+		}
 
-		// ❌ Rule 2: Block dangerous keywords
-		if (q.contains(" insert ") ||
-				q.contains(" update ") ||
-				q.contains(" delete ") ||
-				q.contains(" drop ") ||
-				q.contains(" alter ") ||
-				q.contains(" truncate ") ||
-				q.contains(" create ") ||
-				q.contains(" grant ") ||
-				q.contains(" revoke ") ||
-				q.contains(" exec ") ||
-				q.contains(" execute ")) {
-
-			throw new RuntimeException("Unsafe SQL detected and blocked");
-		}
-
-		// ✅ Rule 3: Must read ONLY from allowed tables
-		boolean isValidTable = false;
-		for (String allowedTable : ALLOWED_TABLES) {
-			if (q.contains(" from " + allowedTable) || 
-				q.contains(" from " + allowedTable + " ") ||
-				q.contains(" from " + allowedTable + "\n") ||
-				q.contains(" from " + allowedTable + ";")) {
-				isValidTable = true;
-				break;
+		// Only FROM and JOIN positions name tables that are read; column qualifiers do not
+		private void addFromTable(FromItem item) {
+			if (item instanceof Table table) {
+				String name = normalized(table.getFullyQualifiedName());
+				// A reference to a CTE in scope reads the CTE; its body was walked on its own
+				if (name.contains(".") || !visibleCtes.contains(name)) {
+					fromTables.add(name);
+				}
 			}
 		}
 
-		if (!isValidTable) {
-			throw new RuntimeException("Query must read only from allowed tables: " + String.join(", ", ALLOWED_TABLES));
+		Set<String> readTables() {
+			return fromTables;
 		}
 
-		// ✅ Rule 4: Block password field selection
-		if (q.contains("password") || q.contains("Password")) {
-			throw new RuntimeException("Password field cannot be selected");
+		private static String normalized(String name) {
+			return name.replace("`", "").toLowerCase(Locale.ROOT);
 		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,23 @@
+-- SELECT-only account for agentic-ai's generated queries (ai.datasource.read.*)
+-- Run on the primary as an administrator; grants replicate to replicas.
+-- Replace the password, then set ai.datasource.read.username/password.
+
+CREATE USER IF NOT EXISTS 'visera_ai_ro'@'%' IDENTIFIED BY 'change-me';
+
+GRANT SELECT ON visera_db.products TO 'visera_ai_ro'@'%';
+GRANT SELECT ON visera_db.skus TO 'visera_ai_ro'@'%';
+GRANT SELECT ON visera_db.shipments TO 'visera_ai_ro'@'%';
+GRANT SELECT ON visera_db.shipment_items TO 'visera_ai_ro'@'%';
+GRANT SELECT ON visera_db.shipment_workers TO 'visera_ai_ro'@'%';
+GRANT SELECT ON visera_db.tasks TO 'visera_ai_ro'@'%';
+GRANT SELECT ON visera_db.inventory_stock TO 'visera_ai_ro'@'%';
+GRANT SELECT ON visera_db.bins TO 'visera_ai_ro'@'%';
+GRANT SELECT ON visera_db.racks TO 'visera_ai_ro'@'%';
+GRANT SELECT ON visera_db.zones TO 'visera_ai_ro'@'%';
+GRANT SELECT ON visera_db.notifications TO 'visera_ai_ro'@'%';
+GRANT SELECT ON visera_db.approvals TO 'visera_ai_ro'@'%';
+GRANT SELECT ON visera_db.verification_logs TO 'visera_ai_ro'@'%';
+GRANT SELECT ON visera_db.issues TO 'visera_ai_ro'@'%';
+GRANT SELECT ON visera_db.data_change_versions TO 'visera_ai_ro'@'%';
+-- users without its password column
+GRANT SELECT (id, name, email, role, created_at) ON visera_db.users TO 'visera_ai_ro'@'%';
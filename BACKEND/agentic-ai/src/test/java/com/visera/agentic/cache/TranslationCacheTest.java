@@ -0,0 +1,60 @@
+package com.visera.agentic.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TranslationCacheTest {
+
+	private final TranslationCache cache = new TranslationCache(100, Duration.ofHours(1));
+
+	@Test
+	void fillsReorderedLiteralsByTheWordBeforeThem() {
+		cache.put("shipments after '2024-01-15' and before '2024-03-01'",
+				"SELECT id FROM shipments WHERE created_at > '2024-01-15' AND created_at < '2024-03-01'");
+
+		assertThat(cache.lookup("shipments before '2024-06-30' and after '2024-05-01'"))
+				.contains("SELECT id FROM shipments WHERE created_at > '2024-05-01' AND created_at < '2024-06-30'");
+	}
+
+	@Test
+	void missesWhenTheSameWordsAreReordered() {
+		cache.put("how many products have no skus",
+				"SELECT COUNT(*) FROM products p WHERE NOT EXISTS (SELECT 1 FROM skus s WHERE s.product_id = p.id)");
+
+		assertThat(cache.lookup("how many skus have no products")).isEmpty();
+	}
+
+	@Test
+	void missesWhenComparedWordsSwapSides() {
+		cache.put("zones with more racks than bins", "SELECT z.name FROM zones z");
+
+		assertThat(cache.lookup("zones with more bins than racks")).isEmpty();
+	}
+
+	@Test
+	void fillsTemplateForSameWordsWithOtherLiterals() {
+		cache.put("list tasks for bin A3-B2-01", "SELECT id FROM tasks WHERE bin_code = 'A3-B2-01'");
+
+		assertThat(cache.lookup("show tasks for bin A1-C4-02"))
+				.contains("SELECT id FROM tasks WHERE bin_code = 'A1-C4-02'");
+	}
+
+	@Test
+	void keepsOrderForLiteralsWithTheSameLabel() {
+		cache.put("move 5 from bin A1 to bin B2",
+				"SELECT id FROM bins WHERE code IN ('A1', 'B2') AND capacity >= 5");
+
+		assertThat(cache.lookup("move 7 from bin C3 to bin D4"))
+				.contains("SELECT id FROM bins WHERE code IN ('C3', 'D4') AND capacity >= 7");
+	}
+
+	@Test
+	void missesWhenALiteralFollowsADifferentWord() {
+		cache.put("shipments after '2024-01-15'", "SELECT id FROM shipments WHERE created_at > '2024-01-15'");
+
+		assertThat(cache.lookup("shipments before '2024-01-15'")).isEmpty();
+	}
+}
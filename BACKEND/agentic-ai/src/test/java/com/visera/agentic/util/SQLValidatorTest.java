@@ -0,0 +1,153 @@
+package com.visera.agentic.util;
+
+import com.visera.agentic.util.SQLValidator.ValidatedSql;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SQLValidatorTest {
+
+	private final SQLValidator validator = new SQLValidator(1000, 100);
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+		"SELECT password FROM users",
+		"SELECT JSON_OBJECT('p', password) FROM users",
+		"SELECT (SELECT GROUP_CONCAT(CONCAT(email, ':', `password`)) FROM users) AS leak FROM products",
+		"SELECT CASE WHEN id > 0 THEN password END FROM users",
+		"SELECT SUBSTRING(password, 1, 3) FROM users",
+		"SELECT ROW_NUMBER() OVER (ORDER BY password) FROM users",
+		"SELECT id FROM users ORDER BY password",
+		"SELECT a.p FROM (SELECT password AS p FROM users) a",
+		"WITH x AS (SELECT u.password FROM users u) SELECT x.password FROM x"
+	})
+	void rejectsPasswordWhereverItIsReferenced(String sql) {
+		assertThatThrownBy(() -> validator.validate(sql)).hasMessage("Password field cannot be selected");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+		"TABLE users",
+		"VALUES ROW(1)",
+		"DELETE FROM users",
+		"UPDATE tasks SET status = 'DONE'",
+		"INSERT INTO issues (status) VALUES ('OPEN')"
+	})
+	void rejectsStatementsOtherThanSelect(String sql) {
+		assertThatThrownBy(() -> validator.validate(sql)).hasMessage("Only SELECT queries are allowed");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+		"SELECT id INTO backup FROM users",
+		"SELECT id FROM products UNION SELECT id INTO backup FROM skus",
+		"SELECT id FROM tasks FOR UPDATE",
+		"SELECT id FROM tasks UNION SELECT id FROM issues FOR UPDATE",
+		"(SELECT id FROM tasks FOR UPDATE)"
+	})
+	void rejectsIntoAndLockingReads(String sql) {
+		assertThatThrownBy(() -> validator.validate(sql))
+				.hasMessage("SELECT ... INTO and locking reads are not allowed");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+		"SELECT id FROM visera_db.tasks",
+		"SELECT id FROM `visera_db`.`tasks`",
+		"SELECT User FROM mysql.user",
+		"SELECT JSON_OBJECT('a', (SELECT name FROM secrets)) FROM products"
+	})
+	void rejectsSchemaQualifiedAndUnknownTables(String sql) {
+		assertThatThrownBy(() -> validator.validate(sql))
+				.hasMessageStartingWith("Query must read only from allowed tables");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+		"WITH daily_metric_rollups AS (SELECT * FROM daily_metric_rollups) SELECT * FROM daily_metric_rollups",
+		"WITH x AS (SELECT * FROM daily_metric_rollups), daily_metric_rollups AS (SELECT 1 AS a) SELECT * FROM x",
+		"SELECT metric_day FROM daily_metric_rollups "
+				+ "WHERE 1 IN (WITH daily_metric_rollups AS (SELECT 1 AS a) SELECT a FROM daily_metric_rollups)"
+	})
+	void rejectsCteNamesThatShadowAnUnreachableTable(String sql) {
+		assertThatThrownBy(() -> validator.validate(sql))
+				.hasMessageStartingWith("Query must read only from allowed tables");
+	}
+
+	@Test
+	void rejectsWildcardsOverUsersBehindASameNamedCte() {
+		assertThatThrownBy(() -> validator.validate("WITH users AS (SELECT * FROM users) SELECT * FROM users"))
+				.hasMessage("Select explicit columns when querying users");
+	}
+
+	@Test
+	void reportsTheTableACteOfTheSameNameReads() {
+		assertThat(validator.validate("WITH users AS (SELECT id, name FROM users) SELECT name FROM users").tables())
+				.containsExactly("users");
+	}
+
+	@Test
+	void treatsRecursiveSelfReferencesAsTheCte() {
+		assertThat(validator.validate(
+				"WITH RECURSIVE n AS (SELECT 1 AS k UNION ALL SELECT k + 1 FROM n WHERE k < 5) SELECT k FROM n").tables())
+				.isEmpty();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+		"SELECT SLEEP(5) FROM tasks",
+		"SELECT GROUP_CONCAT(SLEEP(5)) FROM tasks",
+		"SELECT JSON_OBJECT('a', BENCHMARK(1000000, MD5('x'))) FROM tasks"
+	})
+	void rejectsForbiddenFunctionsInsideOtherExpressions(String sql) {
+		assertThatThrownBy(() -> validator.validate(sql)).hasMessageStartingWith("Function not allowed");
+	}
+
+	@Test
+	void rejectsMultipleStatements() {
+		assertThatThrownBy(() -> validator.validate("SELECT id FROM tasks; DROP TABLE tasks"))
+				.hasMessage("Exactly one SQL statement is allowed");
+	}
+
+	@Test
+	void rejectsWildcardsOverUsers() {
+		assertThatThrownBy(() -> validator.validate("SELECT u.* FROM users u"))
+				.hasMessage("Select explicit columns when querying users");
+	}
+
+	@Test
+	void addsLimitWhenMissing() {
+		assertThat(validator.validate("SELECT id FROM tasks").sql()).isEqualTo("SELECT id FROM tasks LIMIT 1001");
+	}
+
+	@Test
+	void clampsLimitAboveTheCap() {
+		assertThat(validator.validate("SELECT id FROM tasks LIMIT 5000").sql()).isEqualTo("SELECT id FROM tasks LIMIT 1001");
+		assertThat(validator.validate("SELECT id FROM tasks LIMIT 10, 5000").sql()).isEqualTo("SELECT id FROM tasks LIMIT 10, 1001");
+	}
+
+	@Test
+	void keepsLimitBelowTheCap() {
+		assertThat(validator.validate("SELECT id FROM tasks LIMIT 5").sql()).isEqualTo("SELECT id FROM tasks LIMIT 5");
+	}
+
+	@Test
+	void reportsTablesReadButNotCteNames() {
+		ValidatedSql validated = validator.validate(
+				"WITH recent AS (SELECT sku_id FROM inventory_stock) "
+						+ "SELECT p.name, s.sku_code FROM (products p JOIN skus s ON s.product_id = p.id) "
+						+ "WHERE s.id IN (SELECT sku_id FROM recent)");
+		assertThat(validated.tables()).isEqualTo(Set.of("inventory_stock", "products", "skus"));
+	}
+
+	@Test
+	void acceptsUsersWithExplicitColumns() {
+		assertThat(validator.validate("SELECT u.name, u.email FROM users u WHERE u.role = 'WORKER'").tables())
+				.containsExactly("users");
+	}
+}
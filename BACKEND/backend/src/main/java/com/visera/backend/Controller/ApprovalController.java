@@ -1,6 +1,9 @@
 package com.visera.backend.Controller;
 
 import com.visera.backend.DTOs.ApprovalDTO;
+import com.visera.backend.DTOs.BatchApprovalRequest;
+import com.visera.backend.DTOs.BatchApprovalResultDTO;
+import com.visera.backend.DTOs.PageResponse;
 import com.visera.backend.Entity.Approval;
 import com.visera.backend.Entity.InventoryStock;
 import com.visera.backend.Entity.User;
@@ -9,12 +12,13 @@ import com.visera.backend.Repository.UserRepository;
 import com.visera.backend.Service.ApprovalService;
 import com.visera.backend.Service.InventoryStockService;
 import com.visera.backend.Service.ShipmentItemService;
+import com.visera.backend.security.CurrentUser;
+import com.visera.backend.security.CustomUserDetails;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -60,17 +64,49 @@ public class ApprovalController {
         }
     }
 
+    // Paginated approval queue, oldest first; dates are yyyy-MM-dd and "to" is inclusive
+    @PreAuthorize("hasRole('SUPERVISOR')")
+    @GetMapping("/queue")
+    public ResponseEntity<PageResponse<ApprovalDTO>> getApprovalQueue(
+            @RequestParam(defaultValue = "PENDING") String status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Long skuId,
+            @RequestParam(required = false) Long shipmentId,
+            @RequestParam(required = false) Long requestedById,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(PageResponse.of(
+                approvalService.getApprovalQueue(status, type, skuId, shipmentId, requestedById,
+                        from != null ? from.atStartOfDay() : null,
+                        to != null ? to.plusDays(1).atStartOfDay() : null,
+                        page, size),
+                this::convertToDTO));
+    }
+
+    // Approve or reject many approvals in one transaction
+    @PreAuthorize("hasRole('SUPERVISOR')")
+    @PostMapping("/batch")
+    public ResponseEntity<?> reviewBatch(
+            @RequestBody BatchApprovalRequest request,
+            @CurrentUser CustomUserDetails currentUser) {
+        try {
+            User supervisor = userRepository.getReferenceById(currentUser.getUserId());
+            BatchApprovalResultDTO result = approvalService.reviewBatch(
+                    request.getApprovalIds(), request.getAction(), supervisor, request.getReason());
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
     @PreAuthorize("hasRole('SUPERVISOR')")
     @PostMapping("/{id}/approve")
-    public ResponseEntity<Approval> approveRequest(@PathVariable Long id) {
+    public ResponseEntity<Approval> approveRequest(@PathVariable Long id, @CurrentUser CustomUserDetails currentUser) {
         try {
-            // Get current user email from authentication
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String userEmail = authentication.getName();
-            
-            // Find user by email
-            User supervisor = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Supervisor not found with email: " + userEmail));
+            // Reference to the authenticated supervisor, no lookup needed
+            User supervisor = userRepository.getReferenceById(currentUser.getUserId());
 
             // Approve the request
             Approval approval = approvalService.approveRequest(id, supervisor);
@@ -109,16 +145,12 @@ public class ApprovalController {
     @PostMapping("/{id}/reject")
     public ResponseEntity<Approval> rejectRequest(
         @PathVariable Long id,
-        @RequestBody Map<String, String> body
+        @RequestBody Map<String, String> body,
+        @CurrentUser CustomUserDetails currentUser
     ) {
         try {
-            // Get current user email from authentication
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String userEmail = authentication.getName();
-            
-            // Find user by email
-            User supervisor = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Supervisor not found with email: " + userEmail));
+            // Reference to the authenticated supervisor, no lookup needed
+            User supervisor = userRepository.getReferenceById(currentUser.getUserId());
 
             String reason = body.get("reason");
             Approval approval = approvalService.rejectRequest(id, supervisor, reason);
@@ -0,0 +1,28 @@
+package com.visera.backend.Controller;
+
+import com.visera.backend.DTOs.CacheStatsDTO;
+import com.visera.backend.cache.CacheRegistry;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "*")
+public class CacheStatsController {
+
+    private final CacheRegistry cacheRegistry;
+
+    public CacheStatsController(CacheRegistry cacheRegistry) {
+        this.cacheRegistry = cacheRegistry;
+    }
+
+    // Hit rate, size and eviction counts per cache, for sizing the limits in application.properties
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStatsDTO>> getStats() {
+        return ResponseEntity.ok(cacheRegistry.snapshot());
+    }
+}
@@ -5,18 +5,16 @@ import com.visera.backend.DTOs.VerificationResponse;
 import com.visera.backend.Entity.Bin;
 import com.visera.backend.Entity.InventoryStock;
 import com.visera.backend.Entity.Rack;
-import com.visera.backend.Entity.User;
 import com.visera.backend.Entity.Zone;
 import com.visera.backend.Repository.InventoryStockRepository;
-import com.visera.backend.Repository.UserRepository;
 import com.visera.backend.Service.InboundVerificationService;
 import com.visera.backend.Service.ShipmentItemService;
 import com.visera.backend.mapper.EntityMapper;
+import com.visera.backend.security.CurrentUser;
+import com.visera.backend.security.CustomUserDetails;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -34,35 +32,26 @@ public class InboundVerificationController {
     private final InboundVerificationService inboundVerificationService;
     private final ShipmentItemService shipmentItemService;
     private final InventoryStockRepository inventoryStockRepository;
-    private final UserRepository userRepository;
 
     public InboundVerificationController(
         InboundVerificationService inboundVerificationService,
         ShipmentItemService shipmentItemService,
-        InventoryStockRepository inventoryStockRepository,
-        UserRepository userRepository
+        InventoryStockRepository inventoryStockRepository
     ) {
         this.inboundVerificationService = inboundVerificationService;
         this.shipmentItemService = shipmentItemService;
         this.inventoryStockRepository = inventoryStockRepository;
-        this.userRepository = userRepository;
     }
 
     @PreAuthorize("hasRole('WORKER')")
     @PostMapping("/verify/{shipmentItemId}")
     public ResponseEntity<VerificationResponse> verifyPackage(
         @PathVariable Long shipmentItemId,
-        @RequestParam("image") MultipartFile image
+        @RequestParam("image") MultipartFile image,
+        @CurrentUser CustomUserDetails currentUser
     ) {
         try {
-            // Get current user email from authentication
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String userEmail = authentication.getName();
-            
-            // Find user by email and get ID
-            User worker = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Worker not found with email: " + userEmail));
-            Long workerId = worker.getId();
+            Long workerId = currentUser.getUserId();
 
             VerificationResponse response = inboundVerificationService.verifyAndProcessInbound(
                 shipmentItemId,
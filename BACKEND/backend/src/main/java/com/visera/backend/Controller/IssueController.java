@@ -1,5 +1,6 @@
 package com.visera.backend.Controller;
 
+import com.visera.backend.DTOs.CursorPageResponse;
 import com.visera.backend.DTOs.IssueDTO;
 import com.visera.backend.Entity.Issue;
 import com.visera.backend.Entity.Shipment;
@@ -8,11 +9,11 @@ import com.visera.backend.Repository.ShipmentRepository;
 import com.visera.backend.Repository.UserRepository;
 import com.visera.backend.Service.IssueService;
 import com.visera.backend.mapper.EntityMapper;
+import com.visera.backend.security.CurrentUser;
+import com.visera.backend.security.CustomUserDetails;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -42,16 +43,10 @@ public class IssueController {
 
     @PreAuthorize("hasRole('WORKER')")
     @PostMapping("/create")
-    public ResponseEntity<IssueDTO> createIssue(@RequestBody Issue issue) {
+    public ResponseEntity<IssueDTO> createIssue(@RequestBody Issue issue, @CurrentUser CustomUserDetails currentUser) {
         try {
-            // Get current user from authentication
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String userEmail = authentication.getName();
-            
-            User worker = userRepository.findByEmail(userEmail)
-                    .orElseThrow(() -> new RuntimeException("Worker not found with email: " + userEmail));
-            
-            // Set reportedBy
+            // Set reportedBy; a reference is enough, the principal already proved the user exists
+            User worker = userRepository.getReferenceById(currentUser.getUserId());
             issue.setReportedBy(worker);
             
             // Set shipment if provided
@@ -70,6 +65,7 @@ public class IssueController {
             
             Issue createdIssue = issueService.createIssue(issue);
             IssueDTO dto = mapper.toIssueDTO(createdIssue);
+            dto.setReportedByEmail(currentUser.getUsername());
             
             return ResponseEntity.ok(dto);
         } catch (Exception e) {
@@ -97,6 +93,16 @@ public class IssueController {
         return ResponseEntity.ok(dtos);
     }
 
+    // Issue board, newest first, one keyset page at a time; pass nextCursor back for the next page
+    @PreAuthorize("hasRole('SUPERVISOR')")
+    @GetMapping("/board")
+    public ResponseEntity<CursorPageResponse<IssueDTO>> getIssueBoard(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(issueService.getIssueBoard(status, cursor, limit));
+    }
+
     @PreAuthorize("hasAnyRole('SUPERVISOR', 'WORKER')")
     @GetMapping("/{id}")
     public ResponseEntity<IssueDTO> getIssueById(@PathVariable Long id) {
@@ -107,16 +113,9 @@ public class IssueController {
 
     @PreAuthorize("hasRole('SUPERVISOR')")
     @PatchMapping("/{id}/acknowledge")
-    public ResponseEntity<IssueDTO> acknowledgeIssue(@PathVariable Long id) {
+    public ResponseEntity<IssueDTO> acknowledgeIssue(@PathVariable Long id, @CurrentUser CustomUserDetails currentUser) {
         try {
-            // Get current supervisor from authentication
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String userEmail = authentication.getName();
-            
-            User supervisor = userRepository.findByEmail(userEmail)
-                    .orElseThrow(() -> new RuntimeException("Supervisor not found with email: " + userEmail));
-            
-            Issue acknowledgedIssue = issueService.acknowledgeIssue(id, supervisor.getId());
+            Issue acknowledgedIssue = issueService.acknowledgeIssue(id, currentUser.getUserId());
             IssueDTO dto = mapper.toIssueDTO(acknowledgedIssue);
             
             return ResponseEntity.ok(dto);
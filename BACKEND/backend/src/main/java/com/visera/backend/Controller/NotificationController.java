@@ -1,15 +1,19 @@
 package com.visera.backend.Controller;
 
+import com.visera.backend.DTOs.CursorPageResponse;
 import com.visera.backend.DTOs.NotificationDTO;
 import com.visera.backend.Entity.Notification;
 import com.visera.backend.Service.NotificationService;
 import com.visera.backend.mapper.EntityMapper;
+import com.visera.backend.security.CurrentUser;
+import com.visera.backend.security.CustomUserDetails;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -61,5 +65,26 @@ public class NotificationController {
         );
     }
 
-}
+    // Keyset-paginated inbox of the caller: unread first, then newest first
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR', 'WORKER')")
+    @GetMapping("/me/inbox")
+    public ResponseEntity<CursorPageResponse<NotificationDTO>> getInbox(
+            @CurrentUser CustomUserDetails currentUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "false") boolean unreadOnly) {
+        return ResponseEntity.ok(notificationService.getInbox(currentUser.getUserId(), cursor, limit, unreadOnly));
+    }
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR', 'WORKER')")
+    @GetMapping("/me/unread-count")
+    public ResponseEntity<Map<String, Long>> getUnreadCount(@CurrentUser CustomUserDetails currentUser) {
+        return ResponseEntity.ok(Map.of("count", notificationService.getUnreadCount(currentUser.getUserId())));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR', 'WORKER')")
+    @PatchMapping("/me/read-all")
+    public ResponseEntity<Map<String, Integer>> markAllAsRead(@CurrentUser CustomUserDetails currentUser) {
+        return ResponseEntity.ok(Map.of("updated", notificationService.markAllAsRead(currentUser.getUserId())));
+    }
+}
@@ -3,10 +3,13 @@ package com.visera.backend.Controller;
 import com.visera.backend.DTOs.ProductDTO;
 import com.visera.backend.Entity.Product;
 import com.visera.backend.Service.ProductService;
+import com.visera.backend.cache.CatalogVersion;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,9 +19,11 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final CatalogVersion catalogVersion;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, CatalogVersion catalogVersion) {
         this.productService = productService;
+        this.catalogVersion = catalogVersion;
     }
 
     // Create product
@@ -59,24 +64,17 @@ public class ProductController {
     }
 
     // For DTO
+    // Strong ETag from the shared catalog version: unchanged catalogs get 304 after one version lookup
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR', 'WORKER')")
     @GetMapping("/getallproducts")
-    public ResponseEntity<List<ProductDTO>> getAll() {
-        return ResponseEntity.ok(
-                productService.getAllProducts().stream()
-                        .map(product -> {
-                            ProductDTO dto = new ProductDTO();
-                            dto.setId(product.getId());
-                            dto.setName(product.getName());
-                            dto.setDescription(product.getDescription());
-                            dto.setProductCode(product.getProductCode());
-                            dto.setCategory(product.getCategory());
-                            dto.setStatus(product.getStatus() != null ? product.getStatus() : "Active");
-                            dto.setTotalSkus(productService.getSkuCountByProductId(product.getId()));
-                            dto.setCreatedAt(product.getCreatedAt());
-                            return dto;
-                        }).collect(java.util.stream.Collectors.toList())
-        );
+    public ResponseEntity<List<ProductDTO>> getAll(WebRequest webRequest) {
+        String etag = catalogVersion.etag();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .body(productService.getAllProductsWithSkuCount());
     }
 
 }
@@ -3,16 +3,14 @@ package com.visera.backend.Controller;
 import com.visera.backend.DTOs.ShipmentDTO;
 import com.visera.backend.DTOs.UserDTO;
 import com.visera.backend.Entity.Shipment;
-import com.visera.backend.Entity.User;
-import com.visera.backend.Repository.UserRepository;
 import com.visera.backend.Service.ShipmentService;
 import com.visera.backend.Service.ShipmentWorkerService;
+import com.visera.backend.security.CurrentUser;
+import com.visera.backend.security.CustomUserDetails;
 import com.visera.backend.mapper.EntityMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -27,12 +25,10 @@ public class ShipmentController {
     EntityMapper mapper;
     private final ShipmentService shipmentService;
     private final ShipmentWorkerService shipmentWorkerService;
-    private final UserRepository userRepository;
 
-    public ShipmentController(ShipmentService shipmentService, ShipmentWorkerService shipmentWorkerService, UserRepository userRepository) {
+    public ShipmentController(ShipmentService shipmentService, ShipmentWorkerService shipmentWorkerService) {
         this.shipmentService = shipmentService;
         this.shipmentWorkerService = shipmentWorkerService;
-        this.userRepository = userRepository;
     }
 
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
@@ -112,17 +108,10 @@ public class ShipmentController {
 
     @PreAuthorize("hasRole('WORKER')")
     @GetMapping("/worker/assigned")
-    public ResponseEntity<List<ShipmentDTO>> getAssignedShipments() {
+    public ResponseEntity<List<ShipmentDTO>> getAssignedShipments(@CurrentUser CustomUserDetails currentUser) {
         try {
-            // Get current user from authentication
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String userEmail = authentication.getName();
-            
-            User worker = userRepository.findByEmail(userEmail)
-                    .orElseThrow(() -> new RuntimeException("Worker not found with email: " + userEmail));
-            
             // Get all shipments assigned to this worker
-            List<Shipment> shipments = shipmentService.getShipmentsByAssignedWorker(worker.getId());
+            List<Shipment> shipments = shipmentService.getShipmentsByAssignedWorker(currentUser.getUserId());
             
             // Convert to DTOs
             List<ShipmentDTO> dtos = shipments.stream()
@@ -1,17 +1,24 @@
 package com.visera.backend.Controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.visera.backend.DTOs.PageResponse;
 import com.visera.backend.DTOs.SkuDTO;
 import com.visera.backend.DTOs.SkuRequest;
 import com.visera.backend.Entity.Product;
 import com.visera.backend.Entity.Sku;
-import com.visera.backend.Repository.ProductRepository;
 import com.visera.backend.Service.SkuService;
+import com.visera.backend.cache.CatalogCache;
 import com.visera.backend.mapper.EntityMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -23,20 +30,24 @@ public class SkuController {
     EntityMapper mapper;
     
     @Autowired
-    ProductRepository productRepository;
+    CatalogCache catalogCache;
 
     private final SkuService skuService;
+    private final ObjectMapper objectMapper;
 
-    public SkuController(SkuService skuService) {
+    public SkuController(SkuService skuService, ObjectMapper objectMapper) {
         this.skuService = skuService;
+        this.objectMapper = objectMapper;
     }
 
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
     @PostMapping("/create")
     public ResponseEntity<?> create(@RequestBody SkuRequest request) {
         // Find the product
-        Product product = productRepository.findById(request.getProductId())
-                .orElseThrow(() -> new RuntimeException("Product not found with id: " + request.getProductId()));
+        Product product = catalogCache.getProduct(request.getProductId());
+        if (product == null) {
+            throw new RuntimeException("Product not found with id: " + request.getProductId());
+        }
         
         // Create SKU entity with variant fields
         Sku sku = Sku.builder()
@@ -64,12 +75,21 @@ public class SkuController {
         return (sku != null) ? ResponseEntity.ok(sku) : ResponseEntity.notFound().build();
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN','SUPERVISOR','WORKER')")
+    @GetMapping("/getbycode/{skuCode}")
+    public ResponseEntity<Sku> getByCode(@PathVariable String skuCode) {
+        Sku sku = skuService.getSkuByCode(skuCode);
+        return (sku != null) ? ResponseEntity.ok(sku) : ResponseEntity.notFound().build();
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN','SUPERVISOR')")
     @PutMapping("/update/{id}")
     public ResponseEntity<Sku> update(@PathVariable int id, @RequestBody SkuRequest request) {
         // Find the product
-        Product product = productRepository.findById(request.getProductId())
-                .orElseThrow(() -> new RuntimeException("Product not found with id: " + request.getProductId()));
+        Product product = catalogCache.getProduct(request.getProductId());
+        if (product == null) {
+            throw new RuntimeException("Product not found with id: " + request.getProductId());
+        }
         
         // Create SKU entity with updated fields
         Sku updatedSku = Sku.builder()
@@ -97,5 +117,37 @@ public class SkuController {
     public ResponseEntity<List<SkuDTO>> getAllSkus() {
         return ResponseEntity.ok(skuService.getAllSkusWithInventory());
     }
+
+    @PreAuthorize("hasAnyRole('ADMIN','SUPERVISOR','WORKER')")
+    @GetMapping("/getallskudto/page")
+    public ResponseEntity<PageResponse<SkuDTO>> getSkusPage(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "skuCode") String sort,
+            @RequestParam(defaultValue = "asc") String direction) {
+        return ResponseEntity.ok(skuService.getSkusWithInventoryPage(page, size, sort, direction));
+    }
+
+    // Newline-delimited JSON, one SKU per line, written as rows are read from the database
+    @PreAuthorize("hasAnyRole('ADMIN','SUPERVISOR','WORKER')")
+    @GetMapping(value = "/getallskudto/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamSkus() {
+        StreamingResponseBody body = outputStream -> {
+            SequenceWriter writer = objectMapper.writer()
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream);
+            skuService.streamSkusWithInventory(dto -> {
+                try {
+                    writer.write(dto);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
 }
 
@@ -9,12 +9,14 @@ import com.visera.backend.DTOs.RecentCompletionDTO;
 import com.visera.backend.DTOs.TaskDTO;
 import com.visera.backend.Entity.Task;
 import com.visera.backend.Service.TaskService;
+import com.visera.backend.cache.DashboardCache;
 import com.visera.backend.mapper.EntityMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -27,9 +29,11 @@ public class TaskController {
     EntityMapper mapper;
 
     private final TaskService taskService;
+    private final DashboardCache dashboardCache;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, DashboardCache dashboardCache) {
         this.taskService = taskService;
+        this.dashboardCache = dashboardCache;
     }
 
     // Create task (by supervisor)
@@ -77,7 +81,9 @@ public class TaskController {
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR', 'WORKER')")
     @GetMapping("/putaway/statistics/{userId}")
     public ResponseEntity<PutawayStatisticsDTO> getPutawayStatistics(@PathVariable int userId) {
-        return ResponseEntity.ok(taskService.getPutawayStatistics(userId));
+        // Keyed by day too, since the statistics include "completed today"
+        return ResponseEntity.ok(dashboardCache.get(DashboardCache.PUTAWAY_STATISTICS, userId + "@" + LocalDate.now(),
+                () -> taskService.getPutawayStatistics(userId)));
     }
 
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR', 'WORKER')")
@@ -152,7 +158,8 @@ public class TaskController {
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR', 'WORKER')")
     @GetMapping("/picking/statistics/{userId}")
     public ResponseEntity<PickingStatisticsDTO> getPickingStatistics(@PathVariable int userId) {
-        return ResponseEntity.ok(taskService.getPickingStatistics(userId));
+        return ResponseEntity.ok(dashboardCache.get(DashboardCache.PICKING_STATISTICS, userId + "@" + LocalDate.now(),
+                () -> taskService.getPickingStatistics(userId)));
     }
 
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR', 'WORKER')")
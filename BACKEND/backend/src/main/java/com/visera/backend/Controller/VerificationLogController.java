@@ -4,6 +4,7 @@ import com.visera.backend.DTOs.VerificationDTO;
 import com.visera.backend.DTOs.VerificationSummaryDTO;
 import com.visera.backend.Entity.VerificationLog;
 import com.visera.backend.Service.VerificationLogService;
+import com.visera.backend.cache.DashboardCache;
 import com.visera.backend.mapper.EntityMapper;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,9 +23,11 @@ public class VerificationLogController {
     EntityMapper mapper;
 
     private final VerificationLogService verificationLogService;
+    private final DashboardCache dashboardCache;
 
-    public VerificationLogController(VerificationLogService verificationLogService) {
+    public VerificationLogController(VerificationLogService verificationLogService, DashboardCache dashboardCache) {
         this.verificationLogService = verificationLogService;
+        this.dashboardCache = dashboardCache;
     }
 
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
@@ -76,7 +79,8 @@ public class VerificationLogController {
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
     @GetMapping("/summary")
     public ResponseEntity<VerificationSummaryDTO> getVerificationSummary() {
-        return ResponseEntity.ok(verificationLogService.getVerificationSummary());
+        return ResponseEntity.ok(dashboardCache.get(DashboardCache.VERIFICATION_SUMMARY, "all",
+                verificationLogService::getVerificationSummary));
     }
     
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
@@ -2,6 +2,7 @@ package com.visera.backend.Controller;
 
 import com.visera.backend.Entity.Zone;
 import com.visera.backend.Service.ZoneService;
+import com.visera.backend.cache.DashboardCache;
 import com.visera.backend.DTOs.ZoneStatisticsDTO;
 import com.visera.backend.DTOs.ZoneUpdateDTO;
 import com.visera.backend.DTOs.ZoneProductAllocationDTO;
@@ -17,9 +18,11 @@ import java.util.List;
 public class ZoneController {
 
     private final ZoneService zoneService;
+    private final DashboardCache dashboardCache;
 
-    public ZoneController(ZoneService zoneService) {
+    public ZoneController(ZoneService zoneService, DashboardCache dashboardCache) {
         this.zoneService = zoneService;
+        this.dashboardCache = dashboardCache;
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -37,7 +40,8 @@ public class ZoneController {
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR', 'WORKER')")
     @GetMapping("/statistics")
     public ResponseEntity<List<ZoneStatisticsDTO>> getZoneStatistics() {
-        return ResponseEntity.ok(zoneService.getAllZoneStatistics());
+        return ResponseEntity.ok(dashboardCache.get(DashboardCache.ZONE_STATISTICS, "all",
+                zoneService::getAllZoneStatistics));
     }
 
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR', 'WORKER')")
@@ -0,0 +1,12 @@
+package com.visera.backend.DTOs;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchApprovalRequest {
+    private List<Long> approvalIds;
+    private String action; // APPROVE / REJECT
+    private String reason; // Optional, appended on reject
+}
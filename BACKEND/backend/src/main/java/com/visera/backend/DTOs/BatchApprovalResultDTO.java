@@ -0,0 +1,24 @@
+package com.visera.backend.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a bulk approve/reject. Approvals that were missing or no longer
+ * pending are reported in skipped (id -> reason) and left untouched.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchApprovalResultDTO {
+    private String action;
+    private List<Long> processedIds;
+    private int stockUpdatedCount;
+    private Map<Long, String> skipped;
+}
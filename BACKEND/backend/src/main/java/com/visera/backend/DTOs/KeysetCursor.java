@@ -0,0 +1,37 @@
+package com.visera.backend.DTOs;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.StringJoiner;
+
+/**
+ * Codec for the opaque nextCursor of a {@link CursorPageResponse}: the sort key
+ * values of the last row returned, joined with '|' and base64url-encoded.
+ * Values must not contain '|' themselves (timestamps, ids and flags are fine).
+ */
+public final class KeysetCursor {
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(Object... parts) {
+        StringJoiner raw = new StringJoiner("|");
+        for (Object part : parts) {
+            raw.add(String.valueOf(part));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Splits a cursor back into its parts; callers still wrap their own parsing
+     * of each part so any malformed cursor fails the same way.
+     */
+    public static String[] decode(String cursor, int partCount) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] parts = raw.split("\\|", -1);
+        if (parts.length != partCount) {
+            throw new IllegalArgumentException("Expected " + partCount + " cursor parts, got " + parts.length);
+        }
+        return parts;
+    }
+}
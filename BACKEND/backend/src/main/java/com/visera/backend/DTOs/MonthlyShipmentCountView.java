@@ -0,0 +1,11 @@
+package com.visera.backend.DTOs;
+
+/**
+ * Shipment count for one calendar month and shipment type.
+ */
+public interface MonthlyShipmentCountView {
+    Integer getYear();
+    Integer getMonth();
+    String getShipmentType();
+    Long getTotal();
+}
@@ -2,6 +2,8 @@ package com.visera.backend.DTOs;
 
 import lombok.Data;
 
+import java.time.LocalDateTime;
+
 @Data
 public class NotificationDTO {
     private long id;
@@ -10,4 +12,5 @@ public class NotificationDTO {
     private String message;
     private String type;
     private boolean read;
+    private LocalDateTime createdAt;
 }
@@ -0,0 +1,11 @@
+package com.visera.backend.DTOs;
+
+/**
+ * Picking task counts and quantities for one worker, from a single aggregate query.
+ */
+public interface PickingStatisticsView {
+    long getActivePickListsCount();
+    long getItemsToPickCount();
+    long getPickedSinceCount();
+    long getReadyToShipCount();
+}
@@ -0,0 +1,18 @@
+package com.visera.backend.DTOs;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row returned by the grouped product listing query: product columns plus the
+ * number of SKUs that belong to the product.
+ */
+public interface ProductSummaryView {
+    Long getId();
+    String getName();
+    String getDescription();
+    String getProductCode();
+    String getCategory();
+    String getStatus();
+    LocalDateTime getCreatedAt();
+    Long getTotalSkus();
+}
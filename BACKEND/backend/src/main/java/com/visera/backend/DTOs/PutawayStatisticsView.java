@@ -0,0 +1,10 @@
+package com.visera.backend.DTOs;
+
+/**
+ * Putaway task counts for one worker, from a single aggregate query.
+ */
+public interface PutawayStatisticsView {
+    long getPendingCount();
+    long getInProgressCount();
+    long getCompletedSinceCount();
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
@@ -24,6 +25,15 @@ public class ReportDTO {
     // User role distribution
     private List<RoleDistribution> roleDistribution;
 
+    // Verification outcomes in the range, keyed by result (MATCH / MISMATCH / ...)
+    private Map<String, Long> verificationsByResult;
+
+    // Average OCR confidence over verifications in the range; null when none recorded one
+    private Double averageAiConfidence;
+
+    // Completed putaway/picking tasks per worker in the range, busiest first
+    private List<WorkerCompletions> workerCompletions;
+
     @Data
     @Builder
     @AllArgsConstructor
@@ -42,4 +52,15 @@ public class ReportDTO {
         private String name;
         private long value;
     }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class WorkerCompletions {
+        private long workerId;
+        private String workerName;
+        private long putawayCompleted;
+        private long pickingCompleted;
+    }
 }
@@ -0,0 +1,9 @@
+package com.visera.backend.DTOs;
+
+/**
+ * Number of users holding one role.
+ */
+public interface RoleCountView {
+    String getRole();
+    Long getTotal();
+}
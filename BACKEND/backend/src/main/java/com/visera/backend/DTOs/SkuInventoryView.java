@@ -0,0 +1,17 @@
+package com.visera.backend.DTOs;
+
+/**
+ * Row returned by the aggregated SKU inventory query: one row per SKU with its
+ * product name, total stock across bins and the primary (highest stocked) bin.
+ */
+public interface SkuInventoryView {
+    Long getId();
+    String getSkuCode();
+    String getColor();
+    String getDimensions();
+    String getWeight();
+    Long getProductId();
+    String getProductName();
+    Long getTotalQuantity();
+    String getBinLocation();
+}
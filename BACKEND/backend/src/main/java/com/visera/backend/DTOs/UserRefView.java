@@ -0,0 +1,9 @@
+package com.visera.backend.DTOs;
+
+/**
+ * Minimal user reference (id and login email) used to address notifications.
+ */
+public interface UserRefView {
+    Long getId();
+    String getEmail();
+}
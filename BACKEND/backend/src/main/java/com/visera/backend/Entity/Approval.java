@@ -1,12 +1,21 @@
 package com.visera.backend.Entity;
 
+import com.visera.backend.cache.DashboardInvalidationListener;
+import com.visera.backend.cache.DataChangeListener;
+import com.visera.backend.cache.RollupChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "approvals")
+@EntityListeners({DashboardInvalidationListener.class, DataChangeListener.class, RollupChangeListener.class})
+@Table(name = "approvals", indexes = {
+        // Approval queue: filter by status, oldest request first
+        @Index(name = "idx_approvals_status_requested", columnList = "status, requested_at"),
+        // Range reads of mismatches for the daily rollups
+        @Index(name = "idx_approvals_type_requested", columnList = "type, requested_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
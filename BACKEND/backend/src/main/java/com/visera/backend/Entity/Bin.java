@@ -1,5 +1,7 @@
 package com.visera.backend.Entity;
 
+import com.visera.backend.cache.DashboardInvalidationListener;
+import com.visera.backend.cache.DataChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
@@ -7,6 +9,7 @@ import org.hibernate.annotations.NotFound;
 import org.hibernate.annotations.NotFoundAction;
 
 @Entity
+@EntityListeners({DashboardInvalidationListener.class, DataChangeListener.class})
 @Table(name = "bins")
 @Data
 @NoArgsConstructor
@@ -0,0 +1,50 @@
+package com.visera.backend.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+
+/**
+ * One pre-aggregated reporting counter for a single day. Maintained by
+ * DailyRollupJob; reports sum these rows instead of scanning the source tables.
+ */
+@Entity
+@Table(name = "daily_metric_rollups",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_daily_metric_rollups",
+                columnNames = {"metric_day", "metric", "dimension", "worker_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyMetricRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "metric_day", nullable = false)
+    private LocalDate metricDay;
+
+    // SHIPMENTS, MISMATCHES, VERIFICATIONS, TASKS_COMPLETED
+    @Column(nullable = false, length = 40)
+    private String metric;
+
+    // Shipment type, verification result or task type; empty when not applicable
+    @Column(nullable = false, length = 40)
+    private String dimension;
+
+    // Worker for per-worker metrics, 0 otherwise
+    @Column(name = "worker_id", nullable = false)
+    private Long workerId;
+
+    @Column(name = "event_count", nullable = false)
+    private Long eventCount;
+
+    // Sum and count of a numeric value (AI confidence) so averages can be merged across days
+    @Column(name = "value_sum", nullable = false)
+    private Double valueSum;
+
+    @Column(name = "value_count", nullable = false)
+    private Long valueCount;
+}
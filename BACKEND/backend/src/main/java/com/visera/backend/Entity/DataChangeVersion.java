@@ -0,0 +1,28 @@
+package com.visera.backend.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Per-table write counter. Readers outside this service (the agentic-ai result
+ * cache) poll it to tell whether data they cached is still current.
+ */
+@Entity
+@Table(name = "data_change_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DataChangeVersion {
+
+    @Id
+    @Column(name = "table_name", length = 64)
+    private String tableName;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
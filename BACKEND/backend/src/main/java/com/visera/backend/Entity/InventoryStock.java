@@ -1,12 +1,17 @@
 package com.visera.backend.Entity;
 
+import com.visera.backend.cache.DashboardInvalidationListener;
+import com.visera.backend.cache.DataChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners({DashboardInvalidationListener.class, DataChangeListener.class})
 @Table(name = "inventory_stock")
 @Data
 @NoArgsConstructor
@@ -19,6 +24,7 @@ public class InventoryStock {
     private Long id;
 
     @ManyToOne
+    @Fetch(FetchMode.SELECT) // Served from the Sku second-level cache
     @JoinColumn(name = "sku_id")
     @NotNull(message = "SKU must not be null")
     private Sku sku;
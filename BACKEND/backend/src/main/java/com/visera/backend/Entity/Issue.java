@@ -1,12 +1,18 @@
 package com.visera.backend.Entity;
 
+import com.visera.backend.cache.DataChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "issues")
+@EntityListeners(DataChangeListener.class)
+@Table(name = "issues", indexes = {
+        // Keyset pages of the issue board, per status and across all statuses
+        @Index(name = "idx_issues_status_created", columnList = "status, created_at"),
+        @Index(name = "idx_issues_created", columnList = "created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
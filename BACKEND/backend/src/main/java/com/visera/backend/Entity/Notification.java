@@ -1,11 +1,16 @@
 package com.visera.backend.Entity;
 
+import com.visera.backend.cache.DataChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@EntityListeners(DataChangeListener.class)
+@Table(name = "notifications", indexes = {
+        // Serves the unread-first inbox, the unread count and the retention purge
+        @Index(name = "idx_notifications_user_read_created", columnList = "user_id, is_read, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
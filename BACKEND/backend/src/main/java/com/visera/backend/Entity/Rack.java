@@ -1,10 +1,13 @@
 package com.visera.backend.Entity;
 
+import com.visera.backend.cache.DashboardInvalidationListener;
+import com.visera.backend.cache.DataChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
 @Entity
+@EntityListeners({DashboardInvalidationListener.class, DataChangeListener.class})
 @Table(name = "racks")
 @Data
 @NoArgsConstructor
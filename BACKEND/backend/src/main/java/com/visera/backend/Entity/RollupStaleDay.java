@@ -0,0 +1,26 @@
+package com.visera.backend.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A day already rolled up whose source rows changed since, queued for
+ * DailyRollupJob to rebuild.
+ */
+@Entity
+@Table(name = "rollup_stale_days")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RollupStaleDay {
+
+    @Id
+    @Column(name = "metric_day")
+    private LocalDate metricDay;
+
+    @Column(name = "marked_at", nullable = false)
+    private LocalDateTime markedAt;
+}
@@ -0,0 +1,28 @@
+package com.visera.backend.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Last day a rollup has been computed through. Days after it are read live.
+ */
+@Entity
+@Table(name = "rollup_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RollupWatermark {
+
+    @Id
+    @Column(length = 40)
+    private String name;
+
+    @Column(name = "rolled_through", nullable = false)
+    private LocalDate rolledThrough;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
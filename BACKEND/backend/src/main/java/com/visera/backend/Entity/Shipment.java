@@ -1,5 +1,8 @@
 package com.visera.backend.Entity;
 
+import com.visera.backend.cache.DashboardInvalidationListener;
+import com.visera.backend.cache.DataChangeListener;
+import com.visera.backend.cache.RollupChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -10,7 +13,13 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "shipments")
+@EntityListeners({DashboardInvalidationListener.class, DataChangeListener.class, RollupChangeListener.class})
+@Table(name = "shipments", indexes = {
+        // Serves the agentic-ai "shipments with status X" intent, newest first
+        @Index(name = "idx_shipments_status_created", columnList = "status, created_at"),
+        // Range reads for the daily rollups
+        @Index(name = "idx_shipments_created", columnList = "created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,16 +1,24 @@
 package com.visera.backend.Entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.visera.backend.cache.DashboardInvalidationListener;
+import com.visera.backend.cache.DataChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "shipment_items")
+@EntityListeners({DashboardInvalidationListener.class, DataChangeListener.class})
+@Table(name = "shipment_items", indexes = {
+        // Serves status lookups such as the ready-to-ship count
+        @Index(name = "idx_shipment_items_status", columnList = "status")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -27,6 +35,7 @@ public class ShipmentItem {
     private Shipment shipment;
 
     @ManyToOne
+    @Fetch(FetchMode.SELECT) // Served from the Sku second-level cache
     @JoinColumn(name = "sku_id")
     @NotNull(message = "SKU must not be null")
     private Sku sku;
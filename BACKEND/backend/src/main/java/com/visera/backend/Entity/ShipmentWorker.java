@@ -1,11 +1,13 @@
 package com.visera.backend.Entity;
 
+import com.visera.backend.cache.DataChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(DataChangeListener.class)
 @Table(name = "shipment_workers")
 @Data
 @NoArgsConstructor
@@ -6,13 +6,22 @@ import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import com.visera.backend.cache.DashboardInvalidationListener;
+import com.visera.backend.cache.DataChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 @Entity
+@EntityListeners({DashboardInvalidationListener.class, DataChangeListener.class})
 @Table(name = "skus")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,6 +33,7 @@ public class Sku {
     private Long id;
 
     @ManyToOne
+    @Fetch(FetchMode.SELECT) // A separate load can be served from the second-level cache; a join cannot
     @JoinColumn(name = "product_id")
     @NotNull(message = "Product must not be null")
     private Product product;
@@ -1,12 +1,21 @@
 package com.visera.backend.Entity;
 
+import com.visera.backend.cache.DashboardInvalidationListener;
+import com.visera.backend.cache.DataChangeListener;
+import com.visera.backend.cache.RollupChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@EntityListeners({DashboardInvalidationListener.class, DataChangeListener.class, RollupChangeListener.class})
+@Table(name = "tasks", indexes = {
+        // Serves the per-worker putaway/picking statistics and task lists
+        @Index(name = "idx_tasks_user_type_status_created", columnList = "user_id, task_type, status, created_at"),
+        // Range reads of completed tasks for the daily rollups
+        @Index(name = "idx_tasks_status_completed", columnList = "status, completed_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,5 +1,8 @@
 package com.visera.backend.Entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.visera.backend.cache.DashboardInvalidationListener;
+import com.visera.backend.cache.DataChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -7,11 +10,17 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@EntityListeners({DashboardInvalidationListener.class, DataChangeListener.class})
+@Table(name = "users", indexes = {
+        // The agentic-ai "pending tasks of <worker>" intent looks workers up by name
+        @Index(name = "idx_users_name", columnList = "name")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+// References from getReferenceById are proxies; skip the proxy internals when serializing
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class User {
 
     @Id
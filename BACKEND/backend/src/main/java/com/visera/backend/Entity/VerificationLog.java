@@ -2,12 +2,19 @@ package com.visera.backend.Entity;
 
 import java.time.LocalDateTime;
 
+import com.visera.backend.cache.DashboardInvalidationListener;
+import com.visera.backend.cache.DataChangeListener;
+import com.visera.backend.cache.RollupChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
 @Entity
-@Table(name = "verification_logs")
+@EntityListeners({DashboardInvalidationListener.class, DataChangeListener.class, RollupChangeListener.class})
+@Table(name = "verification_logs", indexes = {
+        // Range reads for the daily rollups
+        @Index(name = "idx_verification_logs_verified", columnList = "verified_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
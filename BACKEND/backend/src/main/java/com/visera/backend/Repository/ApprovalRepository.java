@@ -1,20 +1,65 @@
 package com.visera.backend.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.visera.backend.Entity.Approval;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface ApprovalRepository extends JpaRepository<Approval, Long> {
     List<Approval> findByStatus(String status);
 //    List<Approval> findByRequestedById(Long userId);
     List<Approval> findByShipmentItemId(Long shipmentItemId);
+
+    // Approval queue: every filter is optional except status; the graph loads what ApprovalDTO reads
+    @EntityGraph(attributePaths = {"shipmentItem", "requestedBy", "reviewedBy"})
+    @Query(value = "SELECT a FROM Approval a WHERE a.status = :status " +
+            "AND (:type IS NULL OR a.type = :type) " +
+            "AND (:skuId IS NULL OR a.shipmentItem.sku.id = :skuId) " +
+            "AND (:shipmentId IS NULL OR a.shipmentItem.shipment.id = :shipmentId) " +
+            "AND (:requestedById IS NULL OR a.requestedBy.id = :requestedById) " +
+            "AND (:from IS NULL OR a.requestedAt >= :from) " +
+            "AND (:to IS NULL OR a.requestedAt < :to)",
+            countQuery = "SELECT COUNT(a) FROM Approval a WHERE a.status = :status " +
+            "AND (:type IS NULL OR a.type = :type) " +
+            "AND (:skuId IS NULL OR a.shipmentItem.sku.id = :skuId) " +
+            "AND (:shipmentId IS NULL OR a.shipmentItem.shipment.id = :shipmentId) " +
+            "AND (:requestedById IS NULL OR a.requestedBy.id = :requestedById) " +
+            "AND (:from IS NULL OR a.requestedAt >= :from) " +
+            "AND (:to IS NULL OR a.requestedAt < :to)")
+    Page<Approval> findQueue(
+            @Param("status") String status,
+            @Param("type") String type,
+            @Param("skuId") Long skuId,
+            @Param("shipmentId") Long shipmentId,
+            @Param("requestedById") Long requestedById,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            Pageable pageable);
+
+    // Bulk review: loads the approvals with their items and SKUs in one query. The rows stay
+    // locked until commit, so a concurrent review waits and then finds them no longer PENDING
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = {"shipmentItem", "shipmentItem.sku"})
+    List<Approval> findByIdIn(Collection<Long> ids);
+
+    // Single review: takes the same row lock as the bulk load
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Approval a WHERE a.id = :id")
+    Optional<Approval> findByIdForUpdate(@Param("id") Long id);
     
     @Query("SELECT COUNT(a) FROM Approval a WHERE a.type = 'VERIFICATION_MISMATCH' AND a.requestedAt BETWEEN :startDate AND :endDate")
     long countVerificationMismatchesByRequestedAtBetween(
@@ -0,0 +1,177 @@
+package com.visera.backend.Repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Daily reporting rollups. The same per-day aggregate SELECT feeds both the
+ * scheduled rebuild of daily_metric_rollups and the live read of days the
+ * rollup has not reached yet, so both paths always agree. The rebuild reads the
+ * aggregates with a plain SELECT and then writes them: INSERT ... SELECT would
+ * lock every source row it reads.
+ */
+@Repository
+public class DailyRollupRepository {
+
+    public static final String WATERMARK_NAME = "daily_metrics";
+
+    // Each SELECT yields (metric_day, metric, dimension, worker_id, event_count, value_sum, value_count)
+    // for rows whose timestamp falls in [?, ?)
+    private static final String SOURCE_SELECT =
+            "SELECT DATE(created_at) AS metric_day, 'SHIPMENTS' AS metric, COALESCE(shipment_type, '') AS dimension, " +
+            "0 AS worker_id, COUNT(*) AS event_count, 0 AS value_sum, 0 AS value_count " +
+            "FROM shipments WHERE created_at >= ? AND created_at < ? " +
+            "GROUP BY DATE(created_at), COALESCE(shipment_type, '') " +
+            "UNION ALL " +
+            "SELECT DATE(requested_at), 'MISMATCHES', '', 0, COUNT(*), 0, 0 " +
+            "FROM approvals WHERE type = 'VERIFICATION_MISMATCH' AND requested_at >= ? AND requested_at < ? " +
+            "GROUP BY DATE(requested_at) " +
+            "UNION ALL " +
+            "SELECT DATE(verified_at), 'VERIFICATIONS', COALESCE(result, ''), 0, COUNT(*), " +
+            "COALESCE(SUM(ai_confidence), 0), COUNT(ai_confidence) " +
+            "FROM verification_logs WHERE verified_at >= ? AND verified_at < ? " +
+            "GROUP BY DATE(verified_at), COALESCE(result, '') " +
+            "UNION ALL " +
+            "SELECT DATE(completed_at), 'TASKS_COMPLETED', COALESCE(task_type, ''), COALESCE(user_id, 0), COUNT(*), 0, 0 " +
+            "FROM tasks WHERE status = 'COMPLETED' AND completed_at >= ? AND completed_at < ? " +
+            "GROUP BY DATE(completed_at), COALESCE(task_type, ''), COALESCE(user_id, 0)";
+
+    private static final RowMapper<RollupRow> ROW_MAPPER = (rs, rowNum) -> new RollupRow(
+            rs.getDate("metric_day").toLocalDate(),
+            rs.getString("metric"),
+            rs.getString("dimension"),
+            rs.getLong("worker_id"),
+            rs.getLong("event_count"),
+            rs.getDouble("value_sum"),
+            rs.getLong("value_count"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DailyRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public record RollupRow(LocalDate day, String metric, String dimension, long workerId,
+                            long eventCount, double valueSum, long valueCount) {}
+
+    public Optional<LocalDate> findWatermark() {
+        List<Date> days = jdbcTemplate.queryForList(
+                "SELECT rolled_through FROM rollup_watermarks WHERE name = ?", Date.class, WATERMARK_NAME);
+        return days.isEmpty() ? Optional.empty() : Optional.of(days.get(0).toLocalDate());
+    }
+
+    public void saveWatermark(LocalDate rolledThrough) {
+        jdbcTemplate.update(
+                "INSERT INTO rollup_watermarks (name, rolled_through, updated_at) VALUES (?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE rolled_through = VALUES(rolled_through), updated_at = VALUES(updated_at)",
+                WATERMARK_NAME, Date.valueOf(rolledThrough), Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    public void deleteWatermark() {
+        jdbcTemplate.update("DELETE FROM rollup_watermarks WHERE name = ?", WATERMARK_NAME);
+    }
+
+    /**
+     * Earliest day any source table has data for, or empty when all are empty.
+     */
+    public Optional<LocalDate> findEarliestSourceDay() {
+        // MIN over the bare column is answered from the timestamp indexes
+        Date earliest = jdbcTemplate.queryForObject(
+                "SELECT MIN(d) FROM (" +
+                "SELECT DATE(MIN(created_at)) AS d FROM shipments " +
+                "UNION ALL SELECT DATE(MIN(requested_at)) FROM approvals " +
+                "UNION ALL SELECT DATE(MIN(verified_at)) FROM verification_logs " +
+                "UNION ALL SELECT DATE(MIN(completed_at)) FROM tasks) m",
+                Date.class);
+        return Optional.ofNullable(earliest).map(Date::toLocalDate);
+    }
+
+    /**
+     * Replaces the rollup rows for [fromDay, toDay] with freshly aggregated ones.
+     * Call inside a transaction so readers never see a half-rebuilt range.
+     */
+    public int rebuildDays(LocalDate fromDay, LocalDate toDay) {
+        List<RollupRow> rows = aggregateLive(fromDay.atStartOfDay(), toDay.plusDays(1).atStartOfDay());
+        jdbcTemplate.update("DELETE FROM daily_metric_rollups WHERE metric_day BETWEEN ? AND ?",
+                Date.valueOf(fromDay), Date.valueOf(toDay));
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO daily_metric_rollups " +
+                "(metric_day, metric, dimension, worker_id, event_count, value_sum, value_count) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                rows, 500, (ps, row) -> {
+                    ps.setDate(1, Date.valueOf(row.day()));
+                    ps.setString(2, row.metric());
+                    ps.setString(3, row.dimension());
+                    ps.setLong(4, row.workerId());
+                    ps.setLong(5, row.eventCount());
+                    ps.setDouble(6, row.valueSum());
+                    ps.setLong(7, row.valueCount());
+                });
+        return rows.size();
+    }
+
+    /**
+     * Queues an already rolled-up day for rebuilding after its source rows changed.
+     */
+    public void markStale(LocalDate day) {
+        jdbcTemplate.update(
+                "INSERT INTO rollup_stale_days (metric_day, marked_at) VALUES (?, ?) " +
+                "ON DUPLICATE KEY UPDATE marked_at = VALUES(marked_at)",
+                Date.valueOf(day), Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    public List<LocalDate> findStaleDays() {
+        return jdbcTemplate.queryForList("SELECT metric_day FROM rollup_stale_days ORDER BY metric_day", Date.class)
+                .stream().map(Date::toLocalDate).toList();
+    }
+
+    public void deleteStaleDays(LocalDate fromDay, LocalDate toDay) {
+        jdbcTemplate.update("DELETE FROM rollup_stale_days WHERE metric_day BETWEEN ? AND ?",
+                Date.valueOf(fromDay), Date.valueOf(toDay));
+    }
+
+    /**
+     * Rolled-up rows for [fromDay, toDay] summed per calendar month, so the result
+     * stays small for any range; the row day is the first of the month. A null
+     * fromDay means from the beginning.
+     */
+    public List<RollupRow> findMonthlyRollups(LocalDate fromDay, LocalDate toDay) {
+        String select =
+                "SELECT DATE_SUB(metric_day, INTERVAL DAYOFMONTH(metric_day) - 1 DAY) AS metric_day, " +
+                "metric, dimension, worker_id, SUM(event_count) AS event_count, " +
+                "SUM(value_sum) AS value_sum, SUM(value_count) AS value_count " +
+                "FROM daily_metric_rollups ";
+        String groupBy = " GROUP BY DATE_SUB(metric_day, INTERVAL DAYOFMONTH(metric_day) - 1 DAY), metric, dimension, worker_id";
+        if (fromDay == null) {
+            return jdbcTemplate.query(select + "WHERE metric_day <= ?" + groupBy,
+                    ROW_MAPPER, Date.valueOf(toDay));
+        }
+        return jdbcTemplate.query(select + "WHERE metric_day BETWEEN ? AND ?" + groupBy,
+                ROW_MAPPER, Date.valueOf(fromDay), Date.valueOf(toDay));
+    }
+
+    /**
+     * The same aggregates computed live from the source tables for [from, to).
+     */
+    public List<RollupRow> aggregateLive(LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(SOURCE_SELECT, ROW_MAPPER, sourceArgs(from, to));
+    }
+
+    private static Object[] sourceArgs(LocalDateTime from, LocalDateTime to) {
+        List<Object> args = new ArrayList<>(8);
+        for (int i = 0; i < 4; i++) {
+            args.add(Timestamp.valueOf(from));
+            args.add(Timestamp.valueOf(to));
+        }
+        return args.toArray();
+    }
+}
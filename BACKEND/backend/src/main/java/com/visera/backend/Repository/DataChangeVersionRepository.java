@@ -0,0 +1,61 @@
+package com.visera.backend.Repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and bumps per-table versions in data_change_versions; bumps are one
+ * upsert per table sent as a single JDBC batch.
+ */
+@Repository
+public class DataChangeVersionRepository {
+
+    private static final String BUMP_SQL =
+            "INSERT INTO data_change_versions (table_name, version, updated_at) VALUES (?, 1, ?) "
+                    + "ON DUPLICATE KEY UPDATE version = version + 1, updated_at = VALUES(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DataChangeVersionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void bump(Collection<String> tableNames) {
+        if (tableNames.isEmpty()) {
+            return;
+        }
+        // Sorted, so concurrent bumps lock the rows in the same order
+        List<String> tables = new ArrayList<>(tableNames);
+        tables.sort(null);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(BUMP_SQL, tables, tables.size(), (ps, table) -> {
+            ps.setString(1, table);
+            ps.setTimestamp(2, now);
+        });
+    }
+
+    /**
+     * Current versions of the given tables; tables never bumped are absent.
+     */
+    public Map<String, Long> findVersions(Collection<String> tableNames) {
+        Map<String, Long> versions = new HashMap<>();
+        if (tableNames.isEmpty()) {
+            return versions;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(tableNames.size(), "?"));
+        jdbcTemplate.query("SELECT table_name, version FROM data_change_versions WHERE table_name IN (" + placeholders + ")",
+                rs -> {
+                    versions.put(rs.getString(1), rs.getLong(2));
+                }, tableNames.toArray());
+        return versions;
+    }
+}
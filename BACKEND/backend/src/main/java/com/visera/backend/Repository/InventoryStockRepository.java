@@ -1,4 +1,5 @@
 package com.visera.backend.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +13,9 @@ public interface InventoryStockRepository extends JpaRepository<InventoryStock,
 
     List<InventoryStock> findBySkuId(Long skuId);
 
+    // Stock rows for several SKUs at once, ordered by id so the row picked per SKU is deterministic
+    List<InventoryStock> findBySkuIdInOrderByIdAsc(Collection<Long> skuIds);
+
     List<InventoryStock> findByBinId(Long binId);
     
     List<InventoryStock> findByBinIdIn(List<Long> binIds);
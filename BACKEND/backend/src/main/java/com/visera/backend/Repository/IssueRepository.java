@@ -1,10 +1,16 @@
 package com.visera.backend.Repository;
 
 import com.visera.backend.Entity.Issue;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface IssueRepository extends JpaRepository<Issue, Long> {
@@ -13,10 +19,43 @@ public interface IssueRepository extends JpaRepository<Issue, Long> {
 //
 //    List<Issue> findByReportedById(Long userId);
 
+    // Issue board rows with every user and shipment IssueDTO reads (all to-one, so LIMIT stays in SQL)
+    String BOARD_SELECT = "SELECT i FROM Issue i JOIN FETCH i.reportedBy " +
+            "LEFT JOIN FETCH i.shipment s LEFT JOIN FETCH s.createdBy LEFT JOIN FETCH s.assignedTo " +
+            "LEFT JOIN FETCH i.acknowledgedBy ";
+
+    @EntityGraph(attributePaths = {"reportedBy", "shipment", "shipment.createdBy", "shipment.assignedTo", "acknowledgedBy"})
     List<Issue> findByStatusOrderByCreatedAtDesc(String status);
 
+    @EntityGraph(attributePaths = {"reportedBy", "shipment", "shipment.createdBy", "shipment.assignedTo", "acknowledgedBy"})
     List<Issue> findAllByOrderByCreatedAtDesc();
 
     List<Issue> findByShipmentId(Long shipmentId);
-}
 
+    // Board order: newest first; id breaks ties between equal timestamps
+    @Query(BOARD_SELECT + "ORDER BY i.createdAt DESC, i.id DESC")
+    List<Issue> findBoardFirstPage(Pageable pageable);
+
+    // Rows strictly after the cursor (createdAt, id) in board order
+    @Query(BOARD_SELECT + "WHERE i.createdAt < :createdAt OR (i.createdAt = :createdAt AND i.id < :id) " +
+            "ORDER BY i.createdAt DESC, i.id DESC")
+    List<Issue> findBoardAfter(@Param("createdAt") LocalDateTime createdAt,
+                               @Param("id") Long id,
+                               Pageable pageable);
+
+    // Same pages within one status, served by idx_issues_status_created
+    @Query(BOARD_SELECT + "WHERE i.status = :status ORDER BY i.createdAt DESC, i.id DESC")
+    List<Issue> findBoardFirstPageByStatus(@Param("status") String status, Pageable pageable);
+
+    @Query(BOARD_SELECT + "WHERE i.status = :status " +
+            "AND (i.createdAt < :createdAt OR (i.createdAt = :createdAt AND i.id < :id)) " +
+            "ORDER BY i.createdAt DESC, i.id DESC")
+    List<Issue> findBoardAfterByStatus(@Param("status") String status,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
+    // Just the reporter's name for the issue notification, without loading either entity
+    @Query("SELECT u.name FROM Issue i JOIN i.reportedBy u WHERE i.id = :id")
+    Optional<String> findReporterNameById(@Param("id") Long id);
+}
@@ -0,0 +1,57 @@
+package com.visera.backend.Repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes the same notification for many users as one JDBC batch. With
+ * rewriteBatchedStatements on the MySQL URL the batch goes out as a single
+ * multi-row INSERT.
+ */
+@Repository
+public class NotificationBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO notifications (user_id, title, message, type, is_read, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int insertForUsers(List<Long> userIds, String title, String message, String type, LocalDateTime createdAt) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        Timestamp timestamp = Timestamp.valueOf(createdAt);
+        jdbcTemplate.batchUpdate(INSERT_SQL, userIds, userIds.size(), (ps, userId) -> {
+            ps.setLong(1, userId);
+            ps.setString(2, title);
+            ps.setString(3, message);
+            ps.setString(4, type);
+            ps.setBoolean(5, false);
+            ps.setTimestamp(6, timestamp);
+        });
+        return userIds.size();
+    }
+
+    public List<Long> findUserIdsWithNotifications() {
+        return jdbcTemplate.queryForList("SELECT DISTINCT user_id FROM notifications", Long.class);
+    }
+
+    /**
+     * Deletes up to batchSize of one user's read notifications created before the
+     * cutoff. Scoping by user keeps the delete on the (user_id, is_read, created_at)
+     * index, and small batches keep each statement's locks short on a busy table.
+     */
+    public int deleteReadBefore(Long userId, LocalDateTime cutoff, int batchSize) {
+        return jdbcTemplate.update(
+                "DELETE FROM notifications WHERE user_id = ? AND is_read = true AND created_at < ? LIMIT ?",
+                userId, Timestamp.valueOf(cutoff), batchSize);
+    }
+}
@@ -1,7 +1,12 @@
 package com.visera.backend.Repository;
 import com.visera.backend.Entity.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
@@ -11,4 +16,33 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 //    List<Notification> findByType(String type);
 //
 //    List<Notification> findByIsRead(boolean isRead);
+
+    // Inbox order: unread first, then newest first; id breaks ties between equal timestamps
+    @Query("SELECT n FROM Notification n JOIN FETCH n.user WHERE n.user.id = :userId " +
+           "AND (:unreadOnly = false OR n.isRead = false) " +
+           "ORDER BY n.isRead ASC, n.createdAt DESC, n.id DESC")
+    List<Notification> findInboxFirstPage(@Param("userId") Long userId,
+                                          @Param("unreadOnly") boolean unreadOnly,
+                                          Pageable pageable);
+
+    // Rows strictly after the cursor (read flag, createdAt, id) in inbox order
+    @Query("SELECT n FROM Notification n JOIN FETCH n.user WHERE n.user.id = :userId " +
+           "AND (:unreadOnly = false OR n.isRead = false) " +
+           "AND (n.isRead > :read " +
+           "  OR (n.isRead = :read AND (n.createdAt < :createdAt " +
+           "    OR (n.createdAt = :createdAt AND n.id < :id)))) " +
+           "ORDER BY n.isRead ASC, n.createdAt DESC, n.id DESC")
+    List<Notification> findInboxAfter(@Param("userId") Long userId,
+                                      @Param("unreadOnly") boolean unreadOnly,
+                                      @Param("read") boolean read,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.isRead = false")
+    long countUnreadByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId AND n.isRead = false")
+    int markAllReadByUserId(@Param("userId") Long userId);
 }
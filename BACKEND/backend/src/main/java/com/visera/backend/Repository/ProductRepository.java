@@ -1,9 +1,19 @@
 package com.visera.backend.Repository;
+import com.visera.backend.DTOs.ProductSummaryView;
 import com.visera.backend.Entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
 //    boolean existsByProductCode(String productCode);
 //    Optional<Product> findByProductCode(String productCode);
+
+    @Query("SELECT p.id AS id, p.name AS name, p.description AS description, p.productCode AS productCode, " +
+            "p.category AS category, p.status AS status, p.createdAt AS createdAt, COUNT(s.id) AS totalSkus " +
+            "FROM Product p LEFT JOIN Sku s ON s.product = p " +
+            "GROUP BY p.id, p.name, p.description, p.productCode, p.category, p.status, p.createdAt")
+    List<ProductSummaryView> findAllWithSkuCount();
 }
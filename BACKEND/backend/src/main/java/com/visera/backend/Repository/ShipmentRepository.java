@@ -1,5 +1,6 @@
 package com.visera.backend.Repository;
 
+import com.visera.backend.DTOs.MonthlyShipmentCountView;
 import com.visera.backend.Entity.Shipment;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -26,4 +27,12 @@ public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
     long countByCreatedAtBetween(
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
+
+    // One row per (year, month, type) in the range; months without shipments are absent
+    @Query("SELECT YEAR(s.createdAt) AS year, MONTH(s.createdAt) AS month, s.shipmentType AS shipmentType, COUNT(s) AS total " +
+           "FROM Shipment s WHERE s.createdAt BETWEEN :startDate AND :endDate " +
+           "GROUP BY YEAR(s.createdAt), MONTH(s.createdAt), s.shipmentType")
+    List<MonthlyShipmentCountView> countByMonthAndType(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
 }
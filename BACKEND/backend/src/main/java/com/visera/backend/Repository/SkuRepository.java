@@ -1,18 +1,26 @@
 package com.visera.backend.Repository;
 
+import com.visera.backend.DTOs.SkuInventoryView;
 import com.visera.backend.Entity.Sku;
 import com.visera.backend.Entity.Product;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface SkuRepository extends JpaRepository<Sku, Long> {
-//
-//    Optional<Sku> findBySkuCode(String skuCode);
-//
+
+    Optional<Sku> findBySkuCode(String skuCode);
+
 //    boolean existsBySkuCode(String skuCode);
 //
 //    long countByProduct(Product product);
@@ -22,4 +30,41 @@ public interface SkuRepository extends JpaRepository<Sku, Long> {
     
     @Query("SELECT s FROM Sku s WHERE s.product.id = :productId")
     List<Sku> findByProductId(@Param("productId") Long productId);
+
+    // One row per SKU with product name, total stock and primary bin (highest quantity first).
+    // Wrapped in a derived table so paging/sorting can reference the aliases directly.
+    String SKU_INVENTORY_QUERY = """
+            SELECT * FROM (
+                SELECT s.id AS id,
+                       s.sku_code AS skuCode,
+                       s.color AS color,
+                       s.dimensions AS dimensions,
+                       s.weight AS weight,
+                       p.id AS productId,
+                       p.name AS productName,
+                       CAST(COALESCE((SELECT SUM(st.quantity) FROM inventory_stock st WHERE st.sku_id = s.id), 0) AS SIGNED) AS totalQuantity,
+                       (SELECT COALESCE(b.code, b.name)
+                          FROM inventory_stock st
+                          JOIN bins b ON b.id = st.bin_id
+                         WHERE st.sku_id = s.id
+                           AND st.quantity > 0
+                           AND COALESCE(b.code, b.name) IS NOT NULL
+                           AND COALESCE(b.code, b.name) NOT IN ('', 'N/A')
+                         ORDER BY st.quantity DESC
+                         LIMIT 1) AS binLocation
+                  FROM skus s
+                  LEFT JOIN products p ON p.id = s.product_id
+            ) v
+            """;
+
+    @Query(value = SKU_INVENTORY_QUERY, nativeQuery = true)
+    List<SkuInventoryView> findAllWithInventory();
+
+    @Query(value = SKU_INVENTORY_QUERY, countQuery = "SELECT COUNT(*) FROM skus", nativeQuery = true)
+    Page<SkuInventoryView> findAllWithInventory(Pageable pageable);
+
+    // MySQL Connector/J only streams rows when the fetch size is Integer.MIN_VALUE
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query(value = SKU_INVENTORY_QUERY + " ORDER BY v.id", nativeQuery = true)
+    Stream<SkuInventoryView> streamAllWithInventory();
 }
@@ -1,5 +1,7 @@
 package com.visera.backend.Repository;
 
+import com.visera.backend.DTOs.PickingStatisticsView;
+import com.visera.backend.DTOs.PutawayStatisticsView;
 import com.visera.backend.Entity.Task;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -41,11 +43,30 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
             @Param("status") String status,
             @Param("date") LocalDateTime date);
 
-    @Query("SELECT COUNT(t) FROM Task t WHERE t.user.id = :userId AND t.taskType = :taskType AND t.status = :status AND t.shipmentItem.shipment.shipmentType = 'INBOUND'")
-    long countPutawayTasksByUserAndStatusForInbound(
+    // All putaway statistics for one worker in a single pass over their INBOUND tasks
+    @Query("SELECT " +
+            "COALESCE(SUM(CASE WHEN t.status = 'PENDING' THEN 1 ELSE 0 END), 0) AS pendingCount, " +
+            "COALESCE(SUM(CASE WHEN t.status = 'IN_PROGRESS' THEN 1 ELSE 0 END), 0) AS inProgressCount, " +
+            "COALESCE(SUM(CASE WHEN t.status = 'COMPLETED' AND t.createdAt >= :since THEN 1 ELSE 0 END), 0) AS completedSinceCount " +
+            "FROM Task t WHERE t.user.id = :userId AND t.taskType = 'PUTAWAY' " +
+            "AND t.shipmentItem.shipment.shipmentType = 'INBOUND'")
+    PutawayStatisticsView getPutawayStatistics(
             @Param("userId") Long userId,
-            @Param("taskType") String taskType,
-            @Param("status") String status);
+            @Param("since") LocalDateTime since);
+
+    // All picking statistics for one worker in a single pass over their OUTBOUND tasks;
+    // the ready-to-ship count is warehouse-wide, so it comes from a scalar subquery
+    @Query("SELECT " +
+            "COUNT(DISTINCT CASE WHEN t.status <> 'COMPLETED' THEN t.shipmentItem.shipment.id END) AS activePickListsCount, " +
+            "COALESCE(SUM(CASE WHEN t.status <> 'COMPLETED' THEN t.shipmentItem.quantity ELSE 0 END), 0) AS itemsToPickCount, " +
+            "COALESCE(SUM(CASE WHEN t.status = 'COMPLETED' AND t.createdAt >= :since THEN t.shipmentItem.quantity ELSE 0 END), 0) AS pickedSinceCount, " +
+            "(SELECT COUNT(si) FROM ShipmentItem si WHERE si.status = 'DISPATCHED' " +
+            "AND si.shipment.shipmentType = 'OUTBOUND') AS readyToShipCount " +
+            "FROM Task t WHERE t.user.id = :userId AND t.taskType = 'PICKING' " +
+            "AND t.shipmentItem.shipment.shipmentType = 'OUTBOUND'")
+    PickingStatisticsView getPickingStatistics(
+            @Param("userId") Long userId,
+            @Param("since") LocalDateTime since);
 
     // Picking tasks for OUTBOUND shipments only
     @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.taskType = :taskType AND t.status != :status AND t.shipmentItem.shipment.shipmentType = 'OUTBOUND'")
@@ -59,13 +80,6 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
             @Param("taskType") String taskType,
             @Param("status") String status);
 
-    @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.taskType = :taskType AND t.status = :status AND t.createdAt >= :date AND t.shipmentItem.shipment.shipmentType = 'OUTBOUND'")
-    List<Task> findCompletedPickingTasksTodayForOutbound(
-            @Param("userId") Long userId,
-            @Param("taskType") String taskType,
-            @Param("status") String status,
-            @Param("date") LocalDateTime date);
-
 //    @Query("SELECT COUNT(t) FROM Task t WHERE t.user.id = :userId AND t.taskType = :taskType AND t.status = :status AND t.shipmentItem.shipment.shipmentType = 'OUTBOUND'")
 //    long countPickingTasksByUserAndStatusForOutbound(
 //            @Param("userId") Long userId,
@@ -1,7 +1,11 @@
 package com.visera.backend.Repository;
 
+import com.visera.backend.DTOs.RoleCountView;
+import com.visera.backend.DTOs.UserRefView;
 import com.visera.backend.Entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +18,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     long countByRole(String role);
     
     List<User> findByRole(String role);
+
+    @Query("SELECT u.id AS id, u.email AS email FROM User u WHERE u.role = :role ORDER BY u.id")
+    List<UserRefView> findRefsByRole(@Param("role") String role);
+
+    @Query("SELECT u.role AS role, COUNT(u) AS total FROM User u GROUP BY u.role")
+    List<RoleCountView> countGroupedByRole();
 }
@@ -1,10 +1,14 @@
 package com.visera.backend.Service;
 
+import com.visera.backend.DTOs.BatchApprovalResultDTO;
 import com.visera.backend.DTOs.OCRVerificationResult;
 import com.visera.backend.Entity.Approval;
 import com.visera.backend.Entity.ShipmentItem;
 import com.visera.backend.Entity.User;
 
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ApprovalService {
@@ -13,6 +17,9 @@ public interface ApprovalService {
     Approval approveRequest(Long approvalId, User supervisor);
     Approval rejectRequest(Long approvalId, User supervisor, String reason);
     Approval getApprovalById(Long id);
+    Page<Approval> getApprovalQueue(String status, String type, Long skuId, Long shipmentId, Long requestedById,
+                                    LocalDateTime from, LocalDateTime to, int page, int size);
+    BatchApprovalResultDTO reviewBatch(List<Long> approvalIds, String action, User supervisor, String reason);
 }
 
 
@@ -1,30 +1,50 @@
 package com.visera.backend.Service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.visera.backend.DTOs.BatchApprovalResultDTO;
 import com.visera.backend.DTOs.OCRVerificationResult;
 import com.visera.backend.Entity.Approval;
+import com.visera.backend.Entity.InventoryStock;
 import com.visera.backend.Entity.ShipmentItem;
 import com.visera.backend.Entity.User;
 import com.visera.backend.Repository.ApprovalRepository;
+import com.visera.backend.Repository.InventoryStockRepository;
+import com.visera.backend.event.ApprovalCreatedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class ApprovalServiceImpl implements ApprovalService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final ApprovalRepository approvalRepository;
+    private final InventoryStockRepository inventoryStockRepository;
     private final ObjectMapper objectMapper;
-    private final NotificationEventService notificationEventService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ApprovalServiceImpl(
             ApprovalRepository approvalRepository,
-            NotificationEventService notificationEventService) {
+            InventoryStockRepository inventoryStockRepository,
+            ApplicationEventPublisher eventPublisher) {
         this.approvalRepository = approvalRepository;
+        this.inventoryStockRepository = inventoryStockRepository;
         this.objectMapper = new ObjectMapper();
-        this.notificationEventService = notificationEventService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -45,8 +65,8 @@ public class ApprovalServiceImpl implements ApprovalService {
             
             Approval savedApproval = approvalRepository.save(approval);
             
-            // Send real-time notification to supervisors
-            notificationEventService.notifyNewApproval(savedApproval);
+            // Supervisors are notified asynchronously once this transaction commits
+            eventPublisher.publishEvent(new ApprovalCreatedEvent(savedApproval.getId()));
             
             return savedApproval;
         } catch (Exception e) {
@@ -62,38 +82,38 @@ public class ApprovalServiceImpl implements ApprovalService {
     @Override
     @Transactional
     public Approval approveRequest(Long approvalId, User supervisor) {
-        Approval approval = approvalRepository.findById(approvalId)
-            .orElseThrow(() -> new RuntimeException("Approval not found with id: " + approvalId));
-        
-        if (!"PENDING".equals(approval.getStatus())) {
-            throw new RuntimeException("Approval request is not pending");
-        }
-        
-        approval.setStatus("APPROVED");
-        approval.setReviewedBy(supervisor);
-        approval.setReviewedAt(LocalDateTime.now());
-        
+        Approval approval = findPendingForReview(approvalId);
+        markReviewed(approval, true, supervisor, null, LocalDateTime.now());
         return approvalRepository.save(approval);
     }
 
     @Override
     @Transactional
     public Approval rejectRequest(Long approvalId, User supervisor, String reason) {
-        Approval approval = approvalRepository.findById(approvalId)
+        Approval approval = findPendingForReview(approvalId);
+        markReviewed(approval, false, supervisor, reason, LocalDateTime.now());
+        return approvalRepository.save(approval);
+    }
+
+    // Locks the row so two supervisors cannot both review the same request
+    private Approval findPendingForReview(Long approvalId) {
+        Approval approval = approvalRepository.findByIdForUpdate(approvalId)
             .orElseThrow(() -> new RuntimeException("Approval not found with id: " + approvalId));
-        
+
         if (!"PENDING".equals(approval.getStatus())) {
             throw new RuntimeException("Approval request is not pending");
         }
-        
-        approval.setStatus("REJECTED");
+        return approval;
+    }
+
+    // The APPROVED/REJECTED transition, shared by single and bulk review
+    private void markReviewed(Approval approval, boolean approve, User supervisor, String reason, LocalDateTime at) {
+        approval.setStatus(approve ? "APPROVED" : "REJECTED");
         approval.setReviewedBy(supervisor);
-        approval.setReviewedAt(LocalDateTime.now());
-        if (reason != null && !reason.isEmpty()) {
+        approval.setReviewedAt(at);
+        if (!approve && reason != null && !reason.isEmpty()) {
             approval.setReason(approval.getReason() + " | Rejection reason: " + reason);
         }
-        
-        return approvalRepository.save(approval);
     }
 
     @Override
@@ -101,10 +121,102 @@ public class ApprovalServiceImpl implements ApprovalService {
         return approvalRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Approval not found with id: " + id));
     }
-}
 
+    @Override
+    public Page<Approval> getApprovalQueue(String status, String type, Long skuId, Long shipmentId, Long requestedById,
+                                           LocalDateTime from, LocalDateTime to, int page, int size) {
+        // Oldest first, so the queue is worked in the order requests arrived
+        PageRequest pageRequest = PageRequest.of(
+                Math.max(page, 0),
+                Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+                Sort.by(Sort.Direction.ASC, "requestedAt").and(Sort.by(Sort.Direction.ASC, "id")));
+        return approvalRepository.findQueue(
+                status != null ? status : "PENDING", type, skuId, shipmentId, requestedById, from, to, pageRequest);
+    }
+
+    @Override
+    @Transactional
+    public BatchApprovalResultDTO reviewBatch(List<Long> approvalIds, String action, User supervisor, String reason) {
+        boolean approve = "APPROVE".equalsIgnoreCase(action);
+        if (!approve && !"REJECT".equalsIgnoreCase(action)) {
+            throw new RuntimeException("Invalid action: " + action + ". Allowed: APPROVE, REJECT");
+        }
+        if (approvalIds == null || approvalIds.isEmpty()) {
+            throw new RuntimeException("No approval ids given");
+        }
+        Set<Long> ids = new LinkedHashSet<>(approvalIds);
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new RuntimeException("At most " + MAX_BATCH_SIZE + " approvals can be reviewed at once");
+        }
+
+        // Locked until commit: a concurrent review of the same ids waits here
+        Map<Long, Approval> approvalsById = new HashMap<>();
+        for (Approval approval : approvalRepository.findByIdIn(ids)) {
+            approvalsById.put(approval.getId(), approval);
+        }
+
+        List<Approval> pending = new ArrayList<>();
+        Map<Long, String> skipped = new LinkedHashMap<>();
+        for (Long id : ids) {
+            Approval approval = approvalsById.get(id);
+            if (approval == null) {
+                skipped.put(id, "Approval not found");
+            } else if (!"PENDING".equals(approval.getStatus())) {
+                skipped.put(id, "Approval request is not pending");
+            } else {
+                pending.add(approval);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> processedIds = new ArrayList<>();
+        for (Approval approval : pending) {
+            markReviewed(approval, approve, supervisor, reason, now);
+            processedIds.add(approval.getId());
+        }
 
+        int stockUpdatedCount = approve ? receiveIntoExistingStock(pending, now) : 0;
 
+        // Managed entities are flushed on commit as batched UPDATEs (hibernate.jdbc.batch_size)
+        return BatchApprovalResultDTO.builder()
+                .action(approve ? "APPROVE" : "REJECT")
+                .processedIds(processedIds)
+                .stockUpdatedCount(stockUpdatedCount)
+                .skipped(skipped)
+                .build();
+    }
 
+    /**
+     * Same auto-assign as a single approval: each approved item's quantity is added
+     * to the first existing stock row of its SKU (when that row has a bin) and the
+     * item is marked RECEIVED. Stock rows for all SKUs are read in one query.
+     */
+    private int receiveIntoExistingStock(List<Approval> approved, LocalDateTime now) {
+        Set<Long> skuIds = new LinkedHashSet<>();
+        for (Approval approval : approved) {
+            skuIds.add(approval.getShipmentItem().getSku().getId());
+        }
+        if (skuIds.isEmpty()) {
+            return 0;
+        }
 
+        Map<Long, InventoryStock> firstStockBySku = new HashMap<>();
+        for (InventoryStock stock : inventoryStockRepository.findBySkuIdInOrderByIdAsc(skuIds)) {
+            firstStockBySku.putIfAbsent(stock.getSku().getId(), stock);
+        }
 
+        int updated = 0;
+        for (Approval approval : approved) {
+            ShipmentItem item = approval.getShipmentItem();
+            InventoryStock stock = firstStockBySku.get(item.getSku().getId());
+            if (stock == null || stock.getBin() == null) {
+                continue;
+            }
+            stock.setQuantity(stock.getQuantity() + item.getQuantity());
+            stock.setUpdatedAt(now);
+            item.setStatus("RECEIVED");
+            updated++;
+        }
+        return updated;
+    }
+}
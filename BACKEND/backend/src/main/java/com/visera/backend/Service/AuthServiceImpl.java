@@ -5,6 +5,7 @@ import com.visera.backend.DTOs.LoginResponse;
 import com.visera.backend.DTOs.RegisterUserDTO;
 import com.visera.backend.Entity.User;
 import com.visera.backend.Repository.UserRepository;
+import com.visera.backend.cache.RoleDirectory;
 import com.visera.backend.security.JwtUtil;
 import org.springframework.security.authentication.*;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -17,15 +18,18 @@ public class AuthServiceImpl implements AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final RoleDirectory roleDirectory;
 
     public AuthServiceImpl(AuthenticationManager authManager,
                            UserRepository userRepository,
                            PasswordEncoder passwordEncoder,
-                           JwtUtil jwtUtil) {
+                           JwtUtil jwtUtil,
+                           RoleDirectory roleDirectory) {
         this.authManager = authManager;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
+        this.roleDirectory = roleDirectory;
     }
 
     @Override
@@ -39,7 +43,7 @@ public class AuthServiceImpl implements AuthService {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("Invalid email or password!"));
 
-        String token = jwtUtil.generateToken(user.getEmail(), user.getRole());
+        String token = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole());
 
         return new LoginResponse(token, user.getRole(), user.getId());
     }
@@ -58,8 +62,9 @@ public class AuthServiceImpl implements AuthService {
         user.setRole(request.getRole());  // ADMIN / SUPERVISOR / WORKER
 
         User saved = userRepository.save(user);
+        roleDirectory.invalidate();
 
-        String token = jwtUtil.generateToken(saved.getEmail(), saved.getRole());
+        String token = jwtUtil.generateToken(saved.getId(), saved.getEmail(), saved.getRole());
 
         return new LoginResponse(token, saved.getRole(), saved.getId());
     }
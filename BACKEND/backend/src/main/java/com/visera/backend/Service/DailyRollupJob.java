@@ -0,0 +1,96 @@
+package com.visera.backend.Service;
+
+import com.visera.backend.Repository.DailyRollupRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Keeps daily_metric_rollups current. Each run re-aggregates the closed days from
+ * a few days before the watermark up to yesterday (late edits such as a task
+ * completed after midnight land in that window) and advances the watermark.
+ * The first run backfills from the earliest source row. Today is never rolled up;
+ * reports read it live. Older days whose rows were edited or deleted later are
+ * queued by RollupChangeListener and rebuilt one at a time.
+ *
+ * Rebuilds run at READ COMMITTED: the aggregate is then a non-locking read of
+ * the latest committed rows, and only the rollup rows themselves are locked.
+ */
+@Component
+public class DailyRollupJob {
+
+    private final DailyRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int lookbackDays;
+
+    public DailyRollupJob(DailyRollupRepository rollupRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${reports.rollup.lookback-days:3}") int lookbackDays) {
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.lookbackDays = Math.max(lookbackDays, 1);
+    }
+
+    @Scheduled(initialDelayString = "${reports.rollup.initial-delay-ms:30000}",
+               fixedDelayString = "${reports.rollup.interval-ms:300000}")
+    public void scheduledRollUp() {
+        try {
+            rollUp();
+        } catch (Exception e) {
+            System.err.println("Daily rollup failed: " + e.getMessage());
+        }
+    }
+
+    public synchronized void rollUp() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        Optional<LocalDate> watermark = rollupRepository.findWatermark();
+
+        LocalDate from;
+        if (watermark.isPresent()) {
+            from = watermark.get().minusDays(lookbackDays - 1);
+        } else {
+            Optional<LocalDate> earliest = rollupRepository.findEarliestSourceDay();
+            if (earliest.isEmpty()) {
+                rollupRepository.saveWatermark(yesterday);
+                return;
+            }
+            from = earliest.get();
+        }
+
+        // Stale marks are cleared before the aggregate is read, so a change committed
+        // after that read marks its day again for the next run
+        if (!from.isAfter(yesterday)) {
+            transactionTemplate.executeWithoutResult(status -> {
+                rollupRepository.deleteStaleDays(from, yesterday);
+                rollupRepository.rebuildDays(from, yesterday);
+                rollupRepository.saveWatermark(yesterday);
+            });
+        }
+
+        // Days before the window whose source rows changed after they were rolled up
+        for (LocalDate day : rollupRepository.findStaleDays()) {
+            if (day.isBefore(from)) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    rollupRepository.deleteStaleDays(day, day);
+                    rollupRepository.rebuildDays(day, day);
+                });
+            }
+        }
+    }
+
+    /**
+     * Drops the watermark and recomputes every day, e.g. after bulk corrections
+     * to historical data.
+     */
+    public synchronized void rebuildAll() {
+        rollupRepository.deleteWatermark();
+        rollUp();
+    }
+}
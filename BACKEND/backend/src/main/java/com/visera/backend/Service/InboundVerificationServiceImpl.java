@@ -78,8 +78,8 @@ public class InboundVerificationServiceImpl implements InboundVerificationServic
                 return buildErrorResponse("Product not found for SKU");
             }
 
-            User worker = userRepository.findById(workerId)
-                .orElseThrow(() -> new RuntimeException("Worker not found"));
+            // workerId comes from the authenticated principal, so a reference avoids a lookup
+            User worker = userRepository.getReferenceById(workerId);
 
             // 2. Call OCR service with expected values
             OCRVerificationResult ocrResult = ocrService.verifyPackageLabel(
@@ -14,6 +14,7 @@ import com.visera.backend.Entity.Sku;
 import com.visera.backend.Repository.BinRepository;
 import com.visera.backend.Repository.InventoryStockRepository;
 import com.visera.backend.Repository.SkuRepository;
+import com.visera.backend.cache.CatalogCache;
 
 @Service
 public class InventoryStockServiceImpl implements InventoryStockService {
@@ -21,19 +22,22 @@ public class InventoryStockServiceImpl implements InventoryStockService {
     private final InventoryStockRepository repo;
     private final SkuRepository skuRepo;
     private final BinRepository binRepo;
+    private final CatalogCache catalogCache;
 
     public InventoryStockServiceImpl(InventoryStockRepository repo,
                                      SkuRepository skuRepo,
-                                     BinRepository binRepo) {
+                                     BinRepository binRepo,
+                                     CatalogCache catalogCache) {
         this.repo = repo;
         this.skuRepo = skuRepo;
         this.binRepo = binRepo;
+        this.catalogCache = catalogCache;
     }
 
     @Override
     public InventoryStock updateStock(int skuId, int binId, int quantity) {
 
-        Sku sku = skuRepo.findById(Long.valueOf(skuId)).orElse(null);
+        Sku sku = catalogCache.getSku(Long.valueOf(skuId));
         Bin bin = binRepo.findById(Long.valueOf(binId)).orElse(null);
 
         if (sku == null || bin == null) return null;
@@ -53,7 +57,7 @@ public class InventoryStockServiceImpl implements InventoryStockService {
 
     @Override
     public InventoryStock addStock(int skuId, int binId, int quantity) {
-        Sku sku = skuRepo.findById(Long.valueOf(skuId)).orElse(null);
+        Sku sku = catalogCache.getSku(Long.valueOf(skuId));
         Bin bin = binRepo.findById(Long.valueOf(binId)).orElse(null);
 
         if (sku == null || bin == null) return null;
@@ -81,7 +85,7 @@ public class InventoryStockServiceImpl implements InventoryStockService {
 
     @Override
     public InventoryStock getStock(int skuId, int binId) {
-        Sku sku = skuRepo.findById(Long.valueOf(skuId)).orElse(null);
+        Sku sku = catalogCache.getSku(Long.valueOf(skuId));
         Bin bin = binRepo.findById(Long.valueOf(binId)).orElse(null);
 
         if (sku == null || bin == null) return null;
@@ -1,5 +1,7 @@
 package com.visera.backend.Service;
 
+import com.visera.backend.DTOs.CursorPageResponse;
+import com.visera.backend.DTOs.IssueDTO;
 import com.visera.backend.Entity.Issue;
 
 import java.util.List;
@@ -8,6 +10,7 @@ public interface IssueService {
     Issue createIssue(Issue issue);
     List<Issue> getAllIssues();
     List<Issue> getIssuesByStatus(String status);
+    CursorPageResponse<IssueDTO> getIssueBoard(String status, String cursor, int limit);
     Issue acknowledgeIssue(Long id, Long supervisorId);
     Issue getIssueById(Long id);
 }
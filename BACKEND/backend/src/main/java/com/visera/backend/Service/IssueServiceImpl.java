@@ -1,9 +1,16 @@
 package com.visera.backend.Service;
 
+import com.visera.backend.DTOs.CursorPageResponse;
+import com.visera.backend.DTOs.IssueDTO;
+import com.visera.backend.DTOs.KeysetCursor;
 import com.visera.backend.Entity.Issue;
 import com.visera.backend.Entity.User;
 import com.visera.backend.Repository.IssueRepository;
 import com.visera.backend.Repository.UserRepository;
+import com.visera.backend.event.IssueReportedEvent;
+import com.visera.backend.mapper.EntityMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,17 +21,22 @@ import java.util.Optional;
 @Service
 public class IssueServiceImpl implements IssueService {
 
+    private static final int MAX_BOARD_PAGE_SIZE = 100;
+
     private final IssueRepository issueRepository;
     private final UserRepository userRepository;
-    private final NotificationEventService notificationEventService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityMapper mapper;
 
     public IssueServiceImpl(
             IssueRepository issueRepository,
             UserRepository userRepository,
-            NotificationEventService notificationEventService) {
+            ApplicationEventPublisher eventPublisher,
+            EntityMapper mapper) {
         this.issueRepository = issueRepository;
         this.userRepository = userRepository;
-        this.notificationEventService = notificationEventService;
+        this.eventPublisher = eventPublisher;
+        this.mapper = mapper;
     }
 
     @Override
@@ -36,8 +48,9 @@ public class IssueServiceImpl implements IssueService {
         }
         Issue savedIssue = issueRepository.save(issue);
         
-        // Send real-time notification to supervisors
-        notificationEventService.notifyNewIssue(savedIssue);
+        // Supervisors are notified asynchronously once this transaction commits; the reporter
+        // is usually an uninitialized reference, so its name is resolved by the listener
+        eventPublisher.publishEvent(new IssueReportedEvent(savedIssue.getId()));
         
         return savedIssue;
     }
@@ -52,6 +65,41 @@ public class IssueServiceImpl implements IssueService {
         return issueRepository.findByStatusOrderByCreatedAtDesc(status);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<IssueDTO> getIssueBoard(String status, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_BOARD_PAGE_SIZE);
+        // Fetch one extra row to know whether another page exists
+        PageRequest fetch = PageRequest.ofSize(pageSize + 1);
+        boolean byStatus = status != null && !status.isBlank();
+
+        List<Issue> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = byStatus
+                    ? issueRepository.findBoardFirstPageByStatus(status, fetch)
+                    : issueRepository.findBoardFirstPage(fetch);
+        } else {
+            BoardCursor after = BoardCursor.decode(cursor);
+            rows = byStatus
+                    ? issueRepository.findBoardAfterByStatus(status, after.createdAt(), after.id(), fetch)
+                    : issueRepository.findBoardAfter(after.createdAt(), after.id(), fetch);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Issue> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Issue last = page.get(page.size() - 1);
+            nextCursor = new BoardCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return CursorPageResponse.<IssueDTO>builder()
+                .content(page.stream().map(mapper::toIssueDTO).toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
     @Override
     @Transactional
     public Issue acknowledgeIssue(Long id, Long supervisorId) {
@@ -83,5 +131,21 @@ public class IssueServiceImpl implements IssueService {
         return issueRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Issue not found with id: " + id));
     }
-}
 
+    // Opaque board position: the (createdAt, id) of the last row returned
+    private record BoardCursor(LocalDateTime createdAt, Long id) {
+
+        String encode() {
+            return KeysetCursor.encode(createdAt, id);
+        }
+
+        static BoardCursor decode(String cursor) {
+            try {
+                String[] parts = KeysetCursor.decode(cursor, 2);
+                return new BoardCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid issue cursor: " + cursor);
+            }
+        }
+    }
+}
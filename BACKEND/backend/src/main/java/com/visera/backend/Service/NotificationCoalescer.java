@@ -0,0 +1,151 @@
+package com.visera.backend.Service;
+
+import com.visera.backend.config.SchedulingConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Merges bursts of WebSocket notifications. The first notification of a category
+ * for a recipient goes out immediately and opens a window; anything else of the
+ * same category for that recipient within the window is held back and sent as
+ * one digest frame ("12 new approvals") when the window closes.
+ */
+@Component
+public class NotificationCoalescer {
+
+    private static final Map<String, String> CATEGORY_LABELS = Map.of(
+            "APPROVAL", "approval requests",
+            "ISSUE", "issues",
+            "INBOUND_SHIPMENT", "inbound shipment assignments",
+            "OUTBOUND_SHIPMENT", "outbound shipment assignments");
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final long windowMillis;
+    private final Map<Key, Window> windows = new ConcurrentHashMap<>();
+
+    public NotificationCoalescer(SimpMessagingTemplate messagingTemplate,
+                                 @Value("${notifications.coalesce.window-ms:2000}") long windowMillis,
+                                 @Value("${notifications.coalesce.flush-interval-ms:500}") long flushIntervalMillis,
+                                 @Qualifier(SchedulingConfig.NOTIFICATION_FLUSH_SCHEDULER) TaskScheduler flushScheduler) {
+        this.messagingTemplate = messagingTemplate;
+        this.windowMillis = windowMillis;
+        flushScheduler.scheduleWithFixedDelay(this::flushDueWindows, Duration.ofMillis(flushIntervalMillis));
+    }
+
+    /**
+     * Sends to a broadcast destination such as /topic/notifications.supervisors.
+     */
+    public void sendToTopic(String destination, String category, Map<String, Object> payload) {
+        submit(new Key(null, destination, category), payload);
+    }
+
+    /**
+     * Sends to one user's /user{destination} queue.
+     */
+    public void sendToUser(String user, String destination, String category, Map<String, Object> payload) {
+        submit(new Key(user, destination, category), payload);
+    }
+
+    private void submit(Key key, Map<String, Object> payload) {
+        long now = System.currentTimeMillis();
+        boolean[] opened = new boolean[1];
+        Window[] expired = new Window[1];
+        windows.compute(key, (k, window) -> {
+            if (window == null || window.closesAt <= now) {
+                // Closed but not yet flushed by the scheduler: flush it here, then start a new window
+                expired[0] = window;
+                opened[0] = true;
+                return new Window(now + windowMillis);
+            }
+            window.pending.add(payload);
+            return window;
+        });
+        if (expired[0] != null) {
+            flush(key, expired[0].pending);
+        }
+        if (opened[0]) {
+            deliver(key, payload);
+        }
+    }
+
+    void flushDueWindows() {
+        long now = System.currentTimeMillis();
+        for (Key key : windows.keySet()) {
+            Window[] due = new Window[1];
+            windows.computeIfPresent(key, (k, window) -> {
+                if (window.closesAt > now) {
+                    return window;
+                }
+                due[0] = window;
+                return null;
+            });
+            if (due[0] != null) {
+                flush(key, due[0].pending);
+            }
+        }
+    }
+
+    private void flush(Key key, List<Map<String, Object>> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        if (pending.size() == 1) {
+            deliver(key, pending.get(0));
+            return;
+        }
+        deliver(key, digest(key.category(), pending));
+    }
+
+    private Map<String, Object> digest(String category, List<Map<String, Object>> pending) {
+        Map<String, Object> last = pending.get(pending.size() - 1);
+        List<Object> entityIds = new ArrayList<>(pending.size());
+        for (Map<String, Object> payload : pending) {
+            entityIds.add(payload.get("entityId"));
+        }
+        String label = CATEGORY_LABELS.getOrDefault(category, "notifications");
+
+        Map<String, Object> digest = new HashMap<>(last);
+        digest.put("title", pending.size() + " new " + label);
+        digest.put("message", pending.size() + " new " + label + " in the last few seconds");
+        digest.put("digest", true);
+        digest.put("count", pending.size());
+        digest.put("entityIds", entityIds);
+        digest.put("timestamp", LocalDateTime.now().toString());
+        return digest;
+    }
+
+    private void deliver(Key key, Map<String, Object> payload) {
+        try {
+            if (key.user() != null) {
+                messagingTemplate.convertAndSendToUser(key.user(), key.destination(), payload);
+            } else {
+                messagingTemplate.convertAndSend(key.destination(), payload);
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to deliver WebSocket notification to " + key.destination() + ": " + e.getMessage());
+        }
+    }
+
+    private record Key(String user, String destination, String category) {}
+
+    private static final class Window {
+        private final long closesAt;
+        // Only mutated inside ConcurrentHashMap.compute for this key
+        private final List<Map<String, Object>> pending = new ArrayList<>();
+
+        private Window(long closesAt) {
+            this.closesAt = closesAt;
+        }
+    }
+}
@@ -1,13 +1,21 @@
 package com.visera.backend.Service;
 
-import com.visera.backend.Entity.Approval;
-import com.visera.backend.Entity.Issue;
+import com.visera.backend.DTOs.UserRefView;
 import com.visera.backend.Entity.Notification;
 import com.visera.backend.Entity.Shipment;
 import com.visera.backend.Entity.User;
-import com.visera.backend.Repository.UserRepository;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import com.visera.backend.Repository.IssueRepository;
+import com.visera.backend.Repository.NotificationBatchRepository;
+import com.visera.backend.cache.DataChangeVersions;
+import com.visera.backend.cache.RoleDirectory;
+import com.visera.backend.cache.UnreadNotificationCounter;
+import com.visera.backend.config.AsyncConfig;
+import com.visera.backend.event.ApprovalCreatedEvent;
+import com.visera.backend.event.IssueReportedEvent;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -17,98 +25,110 @@ import java.util.Map;
 @Service
 public class NotificationEventService {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    // Per-user destination; clients subscribe to /user/queue/notifications
+    static final String USER_QUEUE = "/queue/notifications";
+    static final String SUPERVISOR_TOPIC = "/topic/notifications.supervisors";
+
+    private final NotificationCoalescer notificationCoalescer;
     private final NotificationService notificationService;
-    private final UserRepository userRepository;
+    private final NotificationBatchRepository notificationBatchRepository;
+    private final RoleDirectory roleDirectory;
+    private final UnreadNotificationCounter unreadCounter;
+    private final DataChangeVersions dataChangeVersions;
+    private final IssueRepository issueRepository;
 
     public NotificationEventService(
-            SimpMessagingTemplate messagingTemplate,
+            NotificationCoalescer notificationCoalescer,
             NotificationService notificationService,
-            UserRepository userRepository) {
-        this.messagingTemplate = messagingTemplate;
+            NotificationBatchRepository notificationBatchRepository,
+            RoleDirectory roleDirectory,
+            UnreadNotificationCounter unreadCounter,
+            DataChangeVersions dataChangeVersions,
+            IssueRepository issueRepository) {
+        this.notificationCoalescer = notificationCoalescer;
         this.notificationService = notificationService;
-        this.userRepository = userRepository;
+        this.notificationBatchRepository = notificationBatchRepository;
+        this.roleDirectory = roleDirectory;
+        this.unreadCounter = unreadCounter;
+        this.dataChangeVersions = dataChangeVersions;
+        this.issueRepository = issueRepository;
     }
 
-    public void notifyNewApproval(Approval approval) {
+    @Async(AsyncConfig.NOTIFICATION_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onApprovalCreated(ApprovalCreatedEvent event) {
         try {
-            // Get all supervisors
-            List<User> supervisors = userRepository.findByRole("SUPERVISOR");
+            Long approvalId = event.approvalId();
+            String title = "New Approval Request";
+            String message = "New verification mismatch requires approval - Request #" + approvalId;
 
             // Create notification payload for WebSocket
             Map<String, Object> notificationPayload = new HashMap<>();
-            notificationPayload.put("id", approval.getId());
-            notificationPayload.put("title", "New Approval Request");
-            notificationPayload.put("message", "New verification mismatch requires approval - Request #" + approval.getId());
+            notificationPayload.put("id", approvalId);
+            notificationPayload.put("title", title);
+            notificationPayload.put("message", message);
             notificationPayload.put("type", "ALERT");
             notificationPayload.put("category", "APPROVAL");
-            notificationPayload.put("entityId", approval.getId());
+            notificationPayload.put("entityId", approvalId);
             notificationPayload.put("timestamp", LocalDateTime.now().toString());
             notificationPayload.put("link", "/approvals");
 
-            // Create database notifications for each supervisor
-            for (User supervisor : supervisors) {
-                Notification notification = Notification.builder()
-                        .user(supervisor)
-                        .title("New Approval Request")
-                        .message("New verification mismatch requires approval - Request #" + approval.getId())
-                        .type("ALERT")
-                        .isRead(false)
-                        .createdAt(LocalDateTime.now())
-                        .build();
-                notificationService.createNotification(notification);
-            }
+            // One batched insert for all supervisors
+            List<Long> supervisorIds = supervisorIds();
+            notificationBatchRepository.insertForUsers(supervisorIds, title, message, "ALERT", LocalDateTime.now());
+            unreadCounter.invalidate(supervisorIds);
+            dataChangeVersions.record("notifications");
 
             // Publish WebSocket message to all supervisors
-            messagingTemplate.convertAndSend("/topic/notifications/supervisors", notificationPayload);
+            notificationCoalescer.sendToTopic(SUPERVISOR_TOPIC, "APPROVAL", notificationPayload);
         } catch (Exception e) {
-            // Log error but don't fail the approval creation
+            // The approval is already committed; a failed notification must not surface anywhere
             System.err.println("Failed to send approval notification: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
-    public void notifyNewIssue(Issue issue) {
+    @Async(AsyncConfig.NOTIFICATION_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onIssueReported(IssueReportedEvent event) {
         try {
-            // Get all supervisors
-            List<User> supervisors = userRepository.findByRole("SUPERVISOR");
-
-            // Get reporter name
-            String reporterName = issue.getReportedBy() != null ? issue.getReportedBy().getName() : "Unknown";
+            Long issueId = event.issueId();
+            String reporterName = issueRepository.findReporterNameById(issueId).orElse("Unknown");
+            String title = "New Issue Reported";
+            String message = "New issue #" + issueId + " reported by " + reporterName;
 
             // Create notification payload for WebSocket
             Map<String, Object> notificationPayload = new HashMap<>();
-            notificationPayload.put("id", issue.getId());
-            notificationPayload.put("title", "New Issue Reported");
-            notificationPayload.put("message", "New issue #" + issue.getId() + " reported by " + reporterName);
+            notificationPayload.put("id", issueId);
+            notificationPayload.put("title", title);
+            notificationPayload.put("message", message);
             notificationPayload.put("type", "WARNING");
             notificationPayload.put("category", "ISSUE");
-            notificationPayload.put("entityId", issue.getId());
+            notificationPayload.put("entityId", issueId);
             notificationPayload.put("timestamp", LocalDateTime.now().toString());
             notificationPayload.put("link", "/issues");
 
-            // Create database notifications for each supervisor
-            for (User supervisor : supervisors) {
-                Notification notification = Notification.builder()
-                        .user(supervisor)
-                        .title("New Issue Reported")
-                        .message("New issue #" + issue.getId() + " reported by " + reporterName)
-                        .type("WARNING")
-                        .isRead(false)
-                        .createdAt(LocalDateTime.now())
-                        .build();
-                notificationService.createNotification(notification);
-            }
+            // One batched insert for all supervisors
+            List<Long> supervisorIds = supervisorIds();
+            notificationBatchRepository.insertForUsers(supervisorIds, title, message, "WARNING", LocalDateTime.now());
+            unreadCounter.invalidate(supervisorIds);
+            dataChangeVersions.record("notifications");
 
             // Publish WebSocket message to all supervisors
-            messagingTemplate.convertAndSend("/topic/notifications/supervisors", notificationPayload);
+            notificationCoalescer.sendToTopic(SUPERVISOR_TOPIC, "ISSUE", notificationPayload);
         } catch (Exception e) {
-            // Log error but don't fail the issue creation
+            // The issue is already committed; a failed notification must not surface anywhere
             System.err.println("Failed to send issue notification: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    private List<Long> supervisorIds() {
+        return roleDirectory.usersWithRole("SUPERVISOR").stream()
+                .map(UserRefView::getId)
+                .toList();
+    }
+
     public void notifyInboundShipmentAssigned(Shipment shipment, User worker) {
         try {
             // Create notification payload for WebSocket
@@ -134,8 +154,8 @@ public class NotificationEventService {
                     .build();
             notificationService.createNotification(notification);
 
-            // Publish WebSocket message to workers topic (will be filtered by workerId on frontend)
-            messagingTemplate.convertAndSend("/topic/notifications/workers", notificationPayload);
+            // Deliver only to this worker's sessions (/user/queue/notifications)
+            notificationCoalescer.sendToUser(worker.getEmail(), USER_QUEUE, "INBOUND_SHIPMENT", notificationPayload);
         } catch (Exception e) {
             // Log error but don't fail the assignment
             System.err.println("Failed to send inbound shipment notification: " + e.getMessage());
@@ -168,8 +188,8 @@ public class NotificationEventService {
                     .build();
             notificationService.createNotification(notification);
 
-            // Publish WebSocket message to workers topic (will be filtered by workerId on frontend)
-            messagingTemplate.convertAndSend("/topic/notifications/workers", notificationPayload);
+            // Deliver only to this worker's sessions (/user/queue/notifications)
+            notificationCoalescer.sendToUser(worker.getEmail(), USER_QUEUE, "OUTBOUND_SHIPMENT", notificationPayload);
         } catch (Exception e) {
             // Log error but don't fail the assignment
             System.err.println("Failed to send outbound shipment notification: " + e.getMessage());
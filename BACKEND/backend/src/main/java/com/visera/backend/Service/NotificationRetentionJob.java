@@ -0,0 +1,57 @@
+package com.visera.backend.Service;
+
+import com.visera.backend.Repository.NotificationBatchRepository;
+import com.visera.backend.cache.DataChangeVersions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Purges read notifications past the retention period. Runs off-peak and deletes
+ * in small batches per user so the inbox stays responsive while it runs.
+ * Unread notifications are never purged.
+ */
+@Component
+public class NotificationRetentionJob {
+
+    private final NotificationBatchRepository notificationBatchRepository;
+    private final DataChangeVersions dataChangeVersions;
+    private final int retentionDays;
+    private final int batchSize;
+
+    public NotificationRetentionJob(NotificationBatchRepository notificationBatchRepository,
+                                    DataChangeVersions dataChangeVersions,
+                                    @Value("${notifications.retention.read-days:30}") int retentionDays,
+                                    @Value("${notifications.retention.batch-size:1000}") int batchSize) {
+        this.notificationBatchRepository = notificationBatchRepository;
+        this.dataChangeVersions = dataChangeVersions;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${notifications.retention.cron:0 30 3 * * *}")
+    public void purgeOldReadNotifications() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long purged = 0;
+        try {
+            for (Long userId : notificationBatchRepository.findUserIdsWithNotifications()) {
+                int deleted;
+                do {
+                    deleted = notificationBatchRepository.deleteReadBefore(userId, cutoff, batchSize);
+                    purged += deleted;
+                } while (deleted == batchSize);
+            }
+            if (purged > 0) {
+                System.out.println("Purged " + purged + " read notifications older than " + retentionDays + " days");
+            }
+        } catch (Exception e) {
+            System.err.println("Notification retention purge failed after " + purged + " rows: " + e.getMessage());
+        }
+        // Also after a partial failure: the deleted batches are committed
+        if (purged > 0) {
+            dataChangeVersions.record("notifications");
+        }
+    }
+}
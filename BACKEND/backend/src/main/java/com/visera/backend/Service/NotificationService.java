@@ -1,5 +1,7 @@
 package com.visera.backend.Service;
 
+import com.visera.backend.DTOs.CursorPageResponse;
+import com.visera.backend.DTOs.NotificationDTO;
 import com.visera.backend.Entity.Notification;
 
 import java.util.List;
@@ -9,5 +11,7 @@ public interface NotificationService {
     List<Notification> getNotificationsByUser(int userId);
     void markAsRead(int id);
     void deleteNotification(int id);
+    CursorPageResponse<NotificationDTO> getInbox(Long userId, String cursor, int limit, boolean unreadOnly);
+    long getUnreadCount(Long userId);
+    int markAllAsRead(Long userId);
 }
-
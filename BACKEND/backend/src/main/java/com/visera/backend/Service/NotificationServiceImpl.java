@@ -1,23 +1,47 @@
 package com.visera.backend.Service;
 
+import com.visera.backend.DTOs.CursorPageResponse;
+import com.visera.backend.DTOs.KeysetCursor;
+import com.visera.backend.DTOs.NotificationDTO;
 import com.visera.backend.Entity.Notification;
 import com.visera.backend.Repository.NotificationRepository;
+import com.visera.backend.cache.DataChangeVersions;
+import com.visera.backend.cache.UnreadNotificationCounter;
+import com.visera.backend.mapper.EntityMapper;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
 public class NotificationServiceImpl implements NotificationService {
 
+    private static final int MAX_INBOX_PAGE_SIZE = 100;
+
     private final NotificationRepository repo;
+    private final UnreadNotificationCounter unreadCounter;
+    private final EntityMapper mapper;
+    private final DataChangeVersions dataChangeVersions;
 
-    public NotificationServiceImpl(NotificationRepository repo) {
+    public NotificationServiceImpl(NotificationRepository repo,
+                                   UnreadNotificationCounter unreadCounter,
+                                   EntityMapper mapper,
+                                   DataChangeVersions dataChangeVersions) {
         this.repo = repo;
+        this.unreadCounter = unreadCounter;
+        this.mapper = mapper;
+        this.dataChangeVersions = dataChangeVersions;
     }
 
     @Override
     public Notification createNotification(Notification n) {
-        return repo.save(n);
+        Notification saved = repo.save(n);
+        if (saved.getUser() != null && !saved.isRead()) {
+            unreadCounter.invalidate(saved.getUser().getId());
+        }
+        return saved;
     }
 
     @Override
@@ -30,12 +54,82 @@ public class NotificationServiceImpl implements NotificationService {
         repo.findById((long) id).ifPresent(n -> {
             n.setRead(true);
             repo.save(n);
+            unreadCounter.invalidate(n.getUser().getId());
         });
     }
 
     @Override
     public void deleteNotification(int id) {
-        repo.deleteById((long) id);
+        repo.findById((long) id).ifPresent(n -> {
+            repo.delete(n);
+            unreadCounter.invalidate(n.getUser().getId());
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<NotificationDTO> getInbox(Long userId, String cursor, int limit, boolean unreadOnly) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_INBOX_PAGE_SIZE);
+        // Fetch one extra row to know whether another page exists
+        PageRequest fetch = PageRequest.ofSize(pageSize + 1);
+
+        List<Notification> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = repo.findInboxFirstPage(userId, unreadOnly, fetch);
+        } else {
+            InboxCursor after = InboxCursor.decode(cursor);
+            rows = repo.findInboxAfter(userId, unreadOnly, after.read(), after.createdAt(), after.id(), fetch);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Notification> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Notification last = page.get(page.size() - 1);
+            nextCursor = new InboxCursor(last.isRead(), last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return CursorPageResponse.<NotificationDTO>builder()
+                .content(page.stream().map(mapper::toNotificationDTO).toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
     }
-}
 
+    @Override
+    public long getUnreadCount(Long userId) {
+        return unreadCounter.get(userId);
+    }
+
+    @Override
+    @Transactional
+    public int markAllAsRead(Long userId) {
+        int updated = repo.markAllReadByUserId(userId);
+        unreadCounter.invalidate(userId);
+        // Bulk JPQL update: entity listeners do not see it
+        if (updated > 0) {
+            dataChangeVersions.record("notifications");
+        }
+        return updated;
+    }
+
+    // Opaque inbox position: the (read flag, createdAt, id) of the last row returned
+    private record InboxCursor(boolean read, LocalDateTime createdAt, Long id) {
+
+        String encode() {
+            return KeysetCursor.encode(read, createdAt, id);
+        }
+
+        static InboxCursor decode(String cursor) {
+            try {
+                String[] parts = KeysetCursor.decode(cursor, 3);
+                return new InboxCursor(
+                        Boolean.parseBoolean(parts[0]),
+                        LocalDateTime.parse(parts[1]),
+                        Long.valueOf(parts[2]));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid notification cursor: " + cursor);
+            }
+        }
+    }
+}
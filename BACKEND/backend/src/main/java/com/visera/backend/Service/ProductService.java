@@ -1,5 +1,6 @@
 package com.visera.backend.Service;
 
+import com.visera.backend.DTOs.ProductDTO;
 import com.visera.backend.Entity.Product;
 
 import java.util.List;
@@ -13,5 +14,6 @@ public interface ProductService {
     Product updateProduct(Long id, Product product);
     void deleteProduct(Long id);
     long getSkuCountByProductId(Long productId);
+    List<ProductDTO> getAllProductsWithSkuCount();
 }
 
@@ -1,6 +1,9 @@
 package com.visera.backend.Service;
 
 
+import com.visera.backend.DTOs.ProductDTO;
+import com.visera.backend.cache.CatalogCache;
+import com.visera.backend.cache.CatalogVersion;
 import com.visera.backend.Entity.Product;
 import com.visera.backend.Entity.Sku;
 import com.visera.backend.Entity.ShipmentItem;
@@ -28,28 +31,36 @@ public class ProductServiceImpl implements ProductService {
     private final VerificationLogRepository verificationLogRepository;
     private final TaskRepository taskRepository;
     private final ApprovalRepository approvalRepository;
+    private final CatalogVersion catalogVersion;
+    private final CatalogCache catalogCache;
 
     public ProductServiceImpl(ProductRepository repo, SkuRepository skuRepository, 
                             ShipmentItemRepository shipmentItemRepository,
                             VerificationLogRepository verificationLogRepository,
                             TaskRepository taskRepository,
-                            ApprovalRepository approvalRepository) {
+                            ApprovalRepository approvalRepository,
+                            CatalogVersion catalogVersion,
+                            CatalogCache catalogCache) {
         this.repo = repo;
         this.skuRepository = skuRepository;
         this.shipmentItemRepository = shipmentItemRepository;
         this.verificationLogRepository = verificationLogRepository;
         this.taskRepository = taskRepository;
         this.approvalRepository = approvalRepository;
+        this.catalogVersion = catalogVersion;
+        this.catalogCache = catalogCache;
     }
 
     @Override
     public Product createProduct(Product product) {
-        return repo.save(product);
+        Product saved = repo.save(product);
+        catalogVersion.bump();
+        return saved;
     }
 
     @Override
     public Product getProductById(Long id) {
-        return repo.findById(id).orElse(null);
+        return catalogCache.getProduct(id);
     }
 
     @Override
@@ -66,7 +77,9 @@ public class ProductServiceImpl implements ProductService {
             product.setCategory(updated.getCategory());
             product.setStatus(updated.getStatus());
             // Add any other fields you want to allow updating here
-            return repo.save(product);
+            Product saved = repo.save(product);
+            catalogVersion.bump();
+            return saved;
         }).orElse(null);
     }
 
@@ -130,10 +143,30 @@ public class ProductServiceImpl implements ProductService {
         
         // Step 11: Delete the product last
         repo.deleteById(id);
+        catalogVersion.bump();
     }
 
     @Override
     public long getSkuCountByProductId(Long productId) {
         return skuRepository.countByProductId(productId);
     }
+
+    @Override
+    public List<ProductDTO> getAllProductsWithSkuCount() {
+        // One LEFT JOIN ... GROUP BY instead of a count query per product
+        return repo.findAllWithSkuCount().stream()
+                .map(view -> {
+                    ProductDTO dto = new ProductDTO();
+                    dto.setId(view.getId());
+                    dto.setName(view.getName());
+                    dto.setDescription(view.getDescription());
+                    dto.setProductCode(view.getProductCode());
+                    dto.setCategory(view.getCategory());
+                    dto.setStatus(view.getStatus() != null ? view.getStatus() : "Active");
+                    dto.setTotalSkus(view.getTotalSkus() != null ? view.getTotalSkus() : 0L);
+                    dto.setCreatedAt(view.getCreatedAt());
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,13 @@
+package com.visera.backend.Service;
+
+import com.visera.backend.DTOs.ReportDTO;
+
+import java.time.LocalDate;
+
+public interface ReportService {
+    /**
+     * Analytics for the given inclusive date range, or for the last six months
+     * when either bound is null.
+     */
+    ReportDTO getAnalytics(LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,177 @@
+package com.visera.backend.Service;
+
+import com.visera.backend.DTOs.ReportDTO;
+import com.visera.backend.DTOs.RoleCountView;
+import com.visera.backend.Entity.User;
+import com.visera.backend.Repository.DailyRollupRepository;
+import com.visera.backend.Repository.DailyRollupRepository.RollupRow;
+import com.visera.backend.Repository.SkuRepository;
+import com.visera.backend.Repository.UserRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+@Service
+public class ReportServiceImpl implements ReportService {
+
+    // Lower bound for live reads when nothing has been rolled up yet
+    private static final LocalDate EPOCH = LocalDate.of(1970, 1, 1);
+
+    private final DailyRollupRepository rollupRepository;
+    private final UserRepository userRepository;
+    private final SkuRepository skuRepository;
+
+    public ReportServiceImpl(
+            DailyRollupRepository rollupRepository,
+            UserRepository userRepository,
+            SkuRepository skuRepository) {
+        this.rollupRepository = rollupRepository;
+        this.userRepository = userRepository;
+        this.skuRepository = skuRepository;
+    }
+
+    @Override
+    public ReportDTO getAnalytics(LocalDate startDate, LocalDate endDate) {
+        boolean hasDateRange = startDate != null && endDate != null;
+        LocalDate today = LocalDate.now();
+
+        // Totals cover the requested range, or all time by default
+        LocalDate fromDay = hasDateRange ? startDate : null;
+        LocalDate toDay = hasDateRange ? endDate : today;
+        List<RollupRow> rows = loadRows(fromDay, toDay);
+
+        // Trends cover the requested range, or the last 6 months by default
+        YearMonth firstMonth = hasDateRange ? YearMonth.from(startDate) : YearMonth.from(today).minusMonths(5);
+        YearMonth lastMonth = YearMonth.from(toDay);
+
+        Map<YearMonth, long[]> shipmentsByMonth = new HashMap<>();
+        Map<String, Long> verificationsByResult = new TreeMap<>();
+        Map<Long, long[]> completionsByWorker = new HashMap<>();
+        long totalShipments = 0;
+        long totalMismatches = 0;
+        double confidenceSum = 0;
+        long confidenceCount = 0;
+
+        for (RollupRow row : rows) {
+            switch (row.metric()) {
+                case "SHIPMENTS" -> {
+                    totalShipments += row.eventCount();
+                    long[] counts = shipmentsByMonth.computeIfAbsent(YearMonth.from(row.day()), k -> new long[2]);
+                    if ("INBOUND".equals(row.dimension())) {
+                        counts[0] += row.eventCount();
+                    } else if ("OUTBOUND".equals(row.dimension())) {
+                        counts[1] += row.eventCount();
+                    }
+                }
+                case "MISMATCHES" -> totalMismatches += row.eventCount();
+                case "VERIFICATIONS" -> {
+                    verificationsByResult.merge(row.dimension(), row.eventCount(), Long::sum);
+                    confidenceSum += row.valueSum();
+                    confidenceCount += row.valueCount();
+                }
+                case "TASKS_COMPLETED" -> {
+                    if (row.workerId() != 0) {
+                        long[] counts = completionsByWorker.computeIfAbsent(row.workerId(), k -> new long[2]);
+                        if ("PUTAWAY".equals(row.dimension())) {
+                            counts[0] += row.eventCount();
+                        } else if ("PICKING".equals(row.dimension())) {
+                            counts[1] += row.eventCount();
+                        }
+                    }
+                }
+                default -> { }
+            }
+        }
+
+        List<ReportDTO.MonthlyShipmentData> shipmentTrends = new ArrayList<>();
+        for (YearMonth month = firstMonth; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            long[] counts = shipmentsByMonth.getOrDefault(month, new long[2]);
+            String monthName = month.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH);
+            shipmentTrends.add(ReportDTO.MonthlyShipmentData.builder()
+                    .month(hasDateRange ? monthName + " " + month.getYear() : monthName)
+                    .inbound(counts[0])
+                    .outbound(counts[1])
+                    .build());
+        }
+
+        // Build role distribution (always all-time) from one grouped query
+        Map<String, Long> usersByRole = new HashMap<>();
+        long totalUsers = 0;
+        for (RoleCountView row : userRepository.countGroupedByRole()) {
+            if (row.getRole() != null) {
+                usersByRole.put(row.getRole(), row.getTotal());
+            }
+            totalUsers += row.getTotal();
+        }
+
+        List<ReportDTO.RoleDistribution> roleDistribution = new ArrayList<>();
+        roleDistribution.add(ReportDTO.RoleDistribution.builder().name("Workers").value(usersByRole.getOrDefault("WORKER", 0L)).build());
+        roleDistribution.add(ReportDTO.RoleDistribution.builder().name("Supervisors").value(usersByRole.getOrDefault("SUPERVISOR", 0L)).build());
+        roleDistribution.add(ReportDTO.RoleDistribution.builder().name("Admins").value(usersByRole.getOrDefault("ADMIN", 0L)).build());
+
+        return ReportDTO.builder()
+                .totalShipments(totalShipments)
+                // Mismatches come from Approval records (source of truth for mismatches shown on Approvals page)
+                .totalMismatches(totalMismatches)
+                .totalUsers(totalUsers)
+                .totalSkus(skuRepository.count()) // Always all-time
+                .shipmentTrends(shipmentTrends)
+                .roleDistribution(roleDistribution)
+                .verificationsByResult(verificationsByResult)
+                .averageAiConfidence(confidenceCount > 0 ? confidenceSum / confidenceCount : null)
+                .workerCompletions(toWorkerCompletions(completionsByWorker))
+                .build();
+    }
+
+    /**
+     * Rolled-up rows through the watermark plus a live aggregate of the days after
+     * it (normally just today), so results are current without scanning history.
+     */
+    private List<RollupRow> loadRows(LocalDate fromDay, LocalDate toDay) {
+        List<RollupRow> rows = new ArrayList<>();
+        Optional<LocalDate> watermark = rollupRepository.findWatermark();
+
+        LocalDate liveFrom = fromDay != null ? fromDay : EPOCH;
+        if (watermark.isPresent()) {
+            LocalDate rolledEnd = watermark.get().isBefore(toDay) ? watermark.get() : toDay;
+            if (fromDay == null || !rolledEnd.isBefore(fromDay)) {
+                rows.addAll(rollupRepository.findMonthlyRollups(fromDay, rolledEnd));
+                liveFrom = rolledEnd.plusDays(1);
+            }
+        }
+        if (!liveFrom.isAfter(toDay)) {
+            rows.addAll(rollupRepository.aggregateLive(liveFrom.atStartOfDay(), toDay.plusDays(1).atStartOfDay()));
+        }
+        return rows;
+    }
+
+    private List<ReportDTO.WorkerCompletions> toWorkerCompletions(Map<Long, long[]> completionsByWorker) {
+        if (completionsByWorker.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, String> names = new HashMap<>();
+        for (User user : userRepository.findAllById(completionsByWorker.keySet())) {
+            names.put(user.getId(), user.getName());
+        }
+        List<ReportDTO.WorkerCompletions> result = new ArrayList<>();
+        completionsByWorker.forEach((workerId, counts) -> result.add(ReportDTO.WorkerCompletions.builder()
+                .workerId(workerId)
+                .workerName(names.getOrDefault(workerId, "Unknown"))
+                .putawayCompleted(counts[0])
+                .pickingCompleted(counts[1])
+                .build()));
+        result.sort(Comparator.comparingLong(
+                (ReportDTO.WorkerCompletions w) -> w.getPutawayCompleted() + w.getPickingCompleted()).reversed());
+        return result;
+    }
+}
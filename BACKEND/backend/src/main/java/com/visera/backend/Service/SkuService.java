@@ -1,15 +1,20 @@
 package com.visera.backend.Service;
+import com.visera.backend.DTOs.PageResponse;
 import com.visera.backend.DTOs.SkuDTO;
 import com.visera.backend.Entity.Sku;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface SkuService {
     Sku createSku(Sku sku);
     Sku createSkuWithInventory(Sku sku, Long binId, Integer initialQuantity);
     Sku getSkuById(int id);
+    Sku getSkuByCode(String skuCode);
     List<Sku> getAllSkus();
     Sku updateSku(int id, Sku sku);
     void deleteSku(int id);
     List<SkuDTO> getAllSkusWithInventory();
+    PageResponse<SkuDTO> getSkusWithInventoryPage(int page, int size, String sortBy, String direction);
+    void streamSkusWithInventory(Consumer<SkuDTO> consumer);
 }
 
@@ -2,13 +2,20 @@ package com.visera.backend.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.visera.backend.DTOs.PageResponse;
 import com.visera.backend.DTOs.SkuDTO;
+import com.visera.backend.DTOs.SkuInventoryView;
 import com.visera.backend.Entity.Bin;
 import com.visera.backend.Entity.InventoryStock;
 import com.visera.backend.Entity.ShipmentItem;
@@ -16,11 +23,17 @@ import com.visera.backend.Entity.Sku;
 import com.visera.backend.Repository.BinRepository;
 import com.visera.backend.Repository.InventoryStockRepository;
 import com.visera.backend.Repository.SkuRepository;
+import com.visera.backend.cache.CatalogCache;
+import com.visera.backend.cache.CatalogVersion;
 import com.visera.backend.mapper.EntityMapper;
 
 @Service
 public class SkuServiceImpl implements SkuService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of(
+            "id", "skuCode", "color", "productName", "totalQuantity", "binLocation");
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final SkuRepository repo;
 
     @Autowired
@@ -32,13 +45,23 @@ public class SkuServiceImpl implements SkuService {
     @Autowired
     private EntityMapper mapper;
 
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
     public SkuServiceImpl(SkuRepository repo) {
         this.repo = repo;
     }
 
     @Override
     public Sku createSku(Sku sku) {
-        return repo.save(sku);
+        Sku saved = repo.save(sku);
+        catalogVersion.bump();
+        // A lookup for this code may have been cached as a miss
+        catalogCache.evictSkuCodes(saved.getSkuCode());
+        return saved;
     }
 
     @Override
@@ -46,6 +69,8 @@ public class SkuServiceImpl implements SkuService {
     public Sku createSkuWithInventory(Sku sku, Long binId, Integer initialQuantity) {
         // Save the SKU first
         Sku createdSku = repo.save(sku);
+        catalogVersion.bump();
+        catalogCache.evictSkuCodes(createdSku.getSkuCode());
 
         // If binId is provided, create inventory stock entry
         if (binId != null && initialQuantity != null && initialQuantity > 0) {
@@ -78,7 +103,12 @@ public class SkuServiceImpl implements SkuService {
 
     @Override
     public Sku getSkuById(int id) {
-        return repo.findById(Long.valueOf(id)).orElse(null);
+        return catalogCache.getSku(Long.valueOf(id));
+    }
+
+    @Override
+    public Sku getSkuByCode(String skuCode) {
+        return catalogCache.getSkuByCode(skuCode);
     }
 
     @Override
@@ -89,12 +119,16 @@ public class SkuServiceImpl implements SkuService {
     @Override
     public Sku updateSku(int id, Sku updatedSku) {
         return repo.findById(Long.valueOf(id)).map(sku -> {
+            String previousCode = sku.getSkuCode();
             sku.setSkuCode(updatedSku.getSkuCode());
             sku.setProduct(updatedSku.getProduct());
             sku.setColor(updatedSku.getColor());
             sku.setDimensions(updatedSku.getDimensions());
             sku.setWeight(updatedSku.getWeight());
-            return repo.save(sku);
+            Sku saved = repo.save(sku);
+            catalogVersion.bump();
+            catalogCache.evictSkuCodes(previousCode, saved.getSkuCode());
+            return saved;
         }).orElse(null);
     }
 
@@ -124,48 +158,38 @@ public class SkuServiceImpl implements SkuService {
 
         // Delete the SKU - cascade will handle all related entities
         repo.delete(sku);
+        catalogVersion.bump();
+        catalogCache.evictSkuCodes(sku.getSkuCode());
     }
 
     @Override
     public List<SkuDTO> getAllSkusWithInventory() {
-        List<Sku> skus = repo.findAll();
-        return skus.stream().map(sku -> {
-            Long skuId = sku.getId();
-
-            // Get total quantity across all bins
-            int totalQuantity = inventoryStockRepo.getTotalQuantityBySkuId(skuId);
-
-            // Get primary bin location (first bin with stock, ordered by quantity DESC)
-            List<String> binLocations = inventoryStockRepo.getBinLocationsBySkuId(skuId);
-            // Filter out null/empty values and get first valid location
-            String binLocation = binLocations.stream()
-                    .filter(loc -> loc != null && !loc.isEmpty() && !loc.equals("N/A"))
-                    .findFirst()
-                    .orElse("-");
-
-            // Calculate status (Low Stock if quantity < 50, otherwise In Stock)
-            String status = totalQuantity > 0 ? (totalQuantity < 50 ? "Low Stock" : "In Stock") : "Out of Stock";
-
-            // Create DTO with enriched data
-            SkuDTO dto = new SkuDTO();
-            dto.setId(sku.getId());
-            dto.setSkuCode(sku.getSkuCode());
-            dto.setColor(sku.getColor());
-            dto.setDimensions(sku.getDimensions());
-            dto.setWeight(sku.getWeight());
-            // Defensive null check for product relationship
-            if (sku.getProduct() != null) {
-                dto.setProductId(sku.getProduct().getId());
-                dto.setProductName(sku.getProduct().getName());
-            } else {
-                dto.setProductId(0L);
-                dto.setProductName("Unknown Product");
-            }
-            dto.setTotalQuantity(totalQuantity);
-            dto.setBinLocation(binLocation);
-            dto.setStatus(status);
+        // Single aggregated query instead of two lookups per SKU
+        return repo.findAllWithInventory().stream()
+                .map(mapper::toSkuDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public PageResponse<SkuDTO> getSkusWithInventoryPage(int page, int size, String sortBy, String direction) {
+        if (!SORTABLE_FIELDS.contains(sortBy)) {
+            throw new RuntimeException("Invalid sort field: " + sortBy + ". Allowed: " + String.join(", ", SORTABLE_FIELDS));
+        }
+        Sort.Direction sortDirection = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        PageRequest pageRequest = PageRequest.of(
+                Math.max(page, 0),
+                Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+                Sort.by(sortDirection, sortBy).and(Sort.by(Sort.Direction.ASC, "id")));
 
-            return dto;
-        }).collect(Collectors.toList());
+        return PageResponse.of(repo.findAllWithInventory(pageRequest), mapper::toSkuDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamSkusWithInventory(Consumer<SkuDTO> consumer) {
+        // The stream holds an open cursor, so it must be consumed inside this transaction
+        try (Stream<SkuInventoryView> rows = repo.streamAllWithInventory()) {
+            rows.map(mapper::toSkuDTO).forEach(consumer);
+        }
     }
 }
@@ -10,7 +10,9 @@ import org.springframework.transaction.annotation.Transactional;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.visera.backend.DTOs.BinAllocation;
 import com.visera.backend.DTOs.PickingStatisticsDTO;
+import com.visera.backend.DTOs.PickingStatisticsView;
 import com.visera.backend.DTOs.PutawayStatisticsDTO;
+import com.visera.backend.DTOs.PutawayStatisticsView;
 import com.visera.backend.Entity.Bin;
 import com.visera.backend.Entity.InventoryStock;
 import com.visera.backend.Entity.Shipment;
@@ -96,22 +98,19 @@ public class TaskServiceImpl implements TaskService {
 
     @Override
     public PutawayStatisticsDTO getPutawayStatistics(int userId) {
-        // Only count PUTAWAY tasks for INBOUND shipments
-        long pendingCount = repo.countPutawayTasksByUserAndStatusForInbound((long) userId, "PUTAWAY", "PENDING");
-        long inProgressCount = repo.countPutawayTasksByUserAndStatusForInbound((long) userId, "PUTAWAY", "IN_PROGRESS");
-        
+        // Only count PUTAWAY tasks for INBOUND shipments, all figures from one aggregate query
         LocalDateTime startOfDay = LocalDateTime.of(LocalDate.now(), LocalTime.MIN);
-        List<Task> completedToday = repo.findCompletedPutawayTasksTodayForInbound(
-                (long) userId, "PUTAWAY", "COMPLETED", startOfDay);
-        long completedTodayCount = completedToday.size();
-        
+        PutawayStatisticsView stats = repo.getPutawayStatistics((long) userId, startOfDay);
+        long pendingCount = stats.getPendingCount();
+        long inProgressCount = stats.getInProgressCount();
+
         // Total = pending + in progress (exclude completed)
         long totalCount = pendingCount + inProgressCount;
 
         return PutawayStatisticsDTO.builder()
                 .pendingCount((int) pendingCount)
                 .inProgressCount((int) inProgressCount)
-                .completedTodayCount((int) completedTodayCount)
+                .completedTodayCount((int) stats.getCompletedSinceCount())
                 .totalItemsCount((int) totalCount)
                 .build();
     }
@@ -259,39 +258,16 @@ public class TaskServiceImpl implements TaskService {
 
     @Override
     public PickingStatisticsDTO getPickingStatistics(int userId) {
-        // Get all pending/in-progress picking tasks for this user
-        List<Task> pendingTasks = repo.findPickingTasksByUserForOutbound((long) userId, "PICKING", "COMPLETED");
-        
-        // Count items to pick (sum of quantities in pending/in-progress tasks)
-        int itemsToPickCount = pendingTasks.stream()
-                .mapToInt(t -> t.getShipmentItem().getQuantity())
-                .sum();
-        
-        // Count active pick lists (unique shipments with pending picking tasks)
-        long activePickListsCount = pendingTasks.stream()
-                .map(t -> t.getShipmentItem().getShipment().getId())
-                .distinct()
-                .count();
-        
-        // Count picked today
+        // Active pick lists and items to pick cover pending/in-progress tasks, picked today
+        // sums completed quantities, ready to ship counts DISPATCHED OUTBOUND items
         LocalDateTime startOfDay = LocalDateTime.of(LocalDate.now(), LocalTime.MIN);
-        List<Task> completedToday = repo.findCompletedPickingTasksTodayForOutbound(
-                (long) userId, "PICKING", "COMPLETED", startOfDay);
-        long pickedTodayCount = completedToday.stream()
-                .mapToInt(t -> t.getShipmentItem().getQuantity())
-                .sum();
-        
-        // Count ready to ship (shipment items with DISPATCHED status for OUTBOUND shipments)
-        List<ShipmentItem> dispatchedItems = shipmentItemRepository.findByStatus("DISPATCHED");
-        int readyToShipCount = (int) dispatchedItems.stream()
-                .filter(item -> "OUTBOUND".equals(item.getShipment().getShipmentType()))
-                .count();
+        PickingStatisticsView stats = repo.getPickingStatistics((long) userId, startOfDay);
 
         return PickingStatisticsDTO.builder()
-                .activePickListsCount((int) activePickListsCount)
-                .itemsToPickCount(itemsToPickCount)
-                .pickedTodayCount((int) pickedTodayCount)
-                .readyToShipCount(readyToShipCount)
+                .activePickListsCount((int) stats.getActivePickListsCount())
+                .itemsToPickCount((int) stats.getItemsToPickCount())
+                .pickedTodayCount((int) stats.getPickedSinceCount())
+                .readyToShipCount((int) stats.getReadyToShipCount())
                 .build();
     }
 
@@ -2,6 +2,7 @@ package com.visera.backend.Service;
 
 import com.visera.backend.Entity.User;
 import com.visera.backend.Repository.UserRepository;
+import com.visera.backend.cache.RoleDirectory;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -12,10 +13,12 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository repo;
     private final PasswordEncoder passwordEncoder;
+    private final RoleDirectory roleDirectory;
 
-    public UserServiceImpl(UserRepository repo, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository repo, PasswordEncoder passwordEncoder, RoleDirectory roleDirectory) {
         this.repo = repo;
         this.passwordEncoder = passwordEncoder;
+        this.roleDirectory = roleDirectory;
     }
 
     @Override
@@ -27,7 +30,9 @@ public class UserServiceImpl implements UserService {
         if (user.getPassword() != null && !user.getPassword().isBlank()) {
             user.setPassword(passwordEncoder.encode(user.getPassword()));
         }
-        return repo.save(user);
+        User saved = repo.save(user);
+        roleDirectory.invalidate();
+        return saved;
     }
 
     @Override
@@ -60,12 +65,15 @@ public class UserServiceImpl implements UserService {
                 user.setRole(updatedUser.getRole().toUpperCase());
             }
 
-            return repo.save(user);
+            User saved = repo.save(user);
+            roleDirectory.invalidate();
+            return saved;
         }).orElse(null);
     }
 
     @Override
     public void deleteUser(int id) {
         repo.deleteById((long) id);
+        roleDirectory.invalidate();
     }
 }
@@ -0,0 +1,44 @@
+package com.visera.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.visera.backend.DTOs.CacheStatsDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Named registry of the in-process caches, so their hit rates and eviction
+ * counts can be reported from one place.
+ */
+@Component
+public class CacheRegistry {
+
+    private final Map<String, Cache<?, ?>> caches = new ConcurrentSkipListMap<>();
+
+    public <K, V> Cache<K, V> register(String name, Cache<K, V> cache) {
+        caches.put(name, cache);
+        return cache;
+    }
+
+    public List<CacheStatsDTO> snapshot() {
+        List<CacheStatsDTO> result = new ArrayList<>();
+        caches.forEach((name, cache) -> {
+            CacheStats stats = cache.stats();
+            result.add(CacheStatsDTO.builder()
+                    .name(name)
+                    .size(cache.estimatedSize())
+                    .hitCount(stats.hitCount())
+                    .missCount(stats.missCount())
+                    .hitRate(stats.hitRate())
+                    .evictionCount(stats.evictionCount())
+                    .loadCount(stats.loadCount())
+                    .averageLoadPenaltyMillis(stats.averageLoadPenalty() / 1_000_000.0)
+                    .build());
+        });
+        return result;
+    }
+}
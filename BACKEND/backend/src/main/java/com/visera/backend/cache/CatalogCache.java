@@ -0,0 +1,130 @@
+package com.visera.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.visera.backend.Entity.Product;
+import com.visera.backend.Entity.Sku;
+import com.visera.backend.Repository.DataChangeVersionRepository;
+import com.visera.backend.Repository.ProductRepository;
+import com.visera.backend.Repository.SkuRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catalog lookups (SKUs by id and code, products by id). The rows themselves
+ * live in the Hibernate second-level cache (see CatalogCacheConfig), which also
+ * serves SKUs and products reached through associations and is kept current by
+ * this instance's own writes. Only the code-to-id mapping is cached here.
+ *
+ * Writes on other instances are noticed through the products and skus rows of
+ * data_change_versions: when either moves, the catalog regions are dropped, so
+ * a remote change is visible here within one poll interval.
+ */
+@Component
+public class CatalogCache {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogCache.class);
+
+    private static final List<String> TABLES = List.of("products", "skus");
+
+    private final SkuRepository skuRepository;
+    private final ProductRepository productRepository;
+    private final DataChangeVersionRepository versionRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final Cache<String, Long> skuIdsByCode;
+    private volatile Map<String, Long> seenVersions;
+
+    public CatalogCache(SkuRepository skuRepository,
+                        ProductRepository productRepository,
+                        DataChangeVersionRepository versionRepository,
+                        EntityManagerFactory entityManagerFactory,
+                        CacheRegistry registry,
+                        @Value("${catalog.cache.sku-max-size:20000}") long skuMaxSize,
+                        @Value("${catalog.cache.expire-after-write:PT6H}") Duration expireAfterWrite) {
+        this.skuRepository = skuRepository;
+        this.productRepository = productRepository;
+        this.versionRepository = versionRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.skuIdsByCode = registry.register("catalog.skuIdByCode", Caffeine.newBuilder()
+                .maximumSize(skuMaxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build());
+    }
+
+    public Sku getSku(Long id) {
+        if (id == null) return null;
+        return skuRepository.findById(id).orElse(null);
+    }
+
+    public Sku getSkuByCode(String skuCode) {
+        if (skuCode == null) return null;
+        // A null result is not cached, so a missing code is re-checked on the next call
+        Long id = skuIdsByCode.get(skuCode, code -> skuRepository.findBySkuCode(code)
+                .map(Sku::getId)
+                .orElse(null));
+        return getSku(id);
+    }
+
+    public Product getProduct(Long id) {
+        if (id == null) return null;
+        return productRepository.findById(id).orElse(null);
+    }
+
+    /**
+     * Evicts code lookups (pass the old code too when it changed). The SKU row
+     * itself is updated in the second-level cache by Hibernate.
+     */
+    public void evictSkuCodes(String... skuCodes) {
+        runNowAndAfterCommit(() -> {
+            for (String code : skuCodes) {
+                if (code != null) skuIdsByCode.invalidate(code);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.cache.version-poll-interval:PT5S}")
+    public void dropOnRemoteChange() {
+        Map<String, Long> versions;
+        try {
+            versions = versionRepository.findVersions(TABLES);
+        } catch (DataAccessException e) {
+            log.warn("Cannot read catalog versions, keeping cached catalog: {}", e.getMessage());
+            return;
+        }
+        Map<String, Long> previous = seenVersions;
+        seenVersions = versions;
+        // Local writes move the versions too; dropping the catalog once for them is cheap
+        if (previous != null && !previous.equals(versions)) {
+            entityManagerFactory.getCache().evict(Sku.class);
+            entityManagerFactory.getCache().evict(Product.class);
+            skuIdsByCode.invalidateAll();
+        }
+    }
+
+    // Evicting before commit keeps this node from serving the stale row; evicting
+    // again after commit drops anything a concurrent reader cached in between.
+    private void runNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
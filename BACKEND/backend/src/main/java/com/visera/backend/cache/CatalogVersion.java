@@ -0,0 +1,40 @@
+package com.visera.backend.cache;
+
+import com.visera.backend.Repository.DataChangeVersionRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Version of the product/SKU catalog, usable as a strong ETag for catalog
+ * listings. It is read from the products and skus rows of data_change_versions,
+ * which every catalog write bumps when it commits, so all backend instances
+ * agree on it and it survives restarts.
+ */
+@Component
+public class CatalogVersion {
+
+    private static final List<String> TABLES = List.of("products", "skus");
+
+    private final DataChangeVersions dataChangeVersions;
+    private final DataChangeVersionRepository repository;
+
+    public CatalogVersion(DataChangeVersions dataChangeVersions, DataChangeVersionRepository repository) {
+        this.dataChangeVersions = dataChangeVersions;
+        this.repository = repository;
+    }
+
+    public String etag() {
+        Map<String, Long> versions = repository.findVersions(TABLES);
+        return "\"catalog-" + versions.getOrDefault("products", 0L) + "-" + versions.getOrDefault("skus", 0L) + "\"";
+    }
+
+    /**
+     * Marks the catalog changed. Entity writes are recorded by DataChangeListener
+     * already; this also covers writes that bypass entity listeners.
+     */
+    public void bump() {
+        TABLES.forEach(dataChangeVersions::record);
+    }
+}
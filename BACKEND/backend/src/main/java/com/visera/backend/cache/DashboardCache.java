@@ -0,0 +1,115 @@
+package com.visera.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.visera.backend.Entity.Approval;
+import com.visera.backend.Entity.Bin;
+import com.visera.backend.Entity.InventoryStock;
+import com.visera.backend.Entity.Rack;
+import com.visera.backend.Entity.Shipment;
+import com.visera.backend.Entity.ShipmentItem;
+import com.visera.backend.Entity.Sku;
+import com.visera.backend.Entity.Task;
+import com.visera.backend.Entity.User;
+import com.visera.backend.Entity.VerificationLog;
+import com.visera.backend.Entity.Zone;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived response cache for the dashboard endpoints that supervisors poll.
+ * Each endpoint has its own cache (reported as "dashboard.&lt;endpoint&gt;"), and
+ * concurrent misses on the same key compute the value once. Entries expire after
+ * a few seconds and are dropped early when an entity they are built from changes.
+ */
+@Component
+public class DashboardCache {
+
+    public static final String REPORT_ANALYTICS = "reports.analytics";
+    public static final String ZONE_STATISTICS = "zones.statistics";
+    public static final String VERIFICATION_SUMMARY = "verification-logs.summary";
+    public static final String PUTAWAY_STATISTICS = "tasks.putaway-statistics";
+    public static final String PICKING_STATISTICS = "tasks.picking-statistics";
+
+    // Which cached endpoints are derived from each entity type
+    private static final Map<Class<?>, List<String>> DEPENDENTS = Map.ofEntries(
+            Map.entry(Shipment.class, List.of(REPORT_ANALYTICS)),
+            Map.entry(ShipmentItem.class, List.of(VERIFICATION_SUMMARY, PUTAWAY_STATISTICS, PICKING_STATISTICS)),
+            Map.entry(Task.class, List.of(REPORT_ANALYTICS, PUTAWAY_STATISTICS, PICKING_STATISTICS)),
+            Map.entry(Approval.class, List.of(REPORT_ANALYTICS, VERIFICATION_SUMMARY)),
+            Map.entry(VerificationLog.class, List.of(REPORT_ANALYTICS, VERIFICATION_SUMMARY)),
+            Map.entry(User.class, List.of(REPORT_ANALYTICS)),
+            Map.entry(Sku.class, List.of(REPORT_ANALYTICS)),
+            Map.entry(Zone.class, List.of(ZONE_STATISTICS)),
+            Map.entry(Rack.class, List.of(ZONE_STATISTICS)),
+            Map.entry(Bin.class, List.of(ZONE_STATISTICS)),
+            Map.entry(InventoryStock.class, List.of(ZONE_STATISTICS)));
+
+    private final Map<String, Cache<Object, Object>> caches = new LinkedHashMap<>();
+
+    public DashboardCache(CacheRegistry registry,
+                          @Value("${dashboard.cache.ttl:PT5S}") Duration ttl,
+                          @Value("${dashboard.cache.max-size:1000}") long maxSize) {
+        for (String endpoint : List.of(REPORT_ANALYTICS, ZONE_STATISTICS, VERIFICATION_SUMMARY,
+                PUTAWAY_STATISTICS, PICKING_STATISTICS)) {
+            caches.put(endpoint, registry.register("dashboard." + endpoint, Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build()));
+        }
+    }
+
+    /**
+     * Returns the cached response for the endpoint and key, computing it with the
+     * loader on a miss. Callers must treat the returned value as read-only.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String endpoint, Object key, Supplier<T> loader) {
+        return (T) cache(endpoint).get(key, k -> loader.get());
+    }
+
+    public void invalidate(String endpoint) {
+        Cache<Object, Object> cache = cache(endpoint);
+        runNowAndAfterCommit(cache::invalidateAll);
+    }
+
+    /**
+     * Drops every endpoint derived from the given entity type; a no-op for types
+     * no dashboard reads.
+     */
+    public void invalidateFor(Class<?> entityType) {
+        List<String> endpoints = DEPENDENTS.get(entityType);
+        if (endpoints == null) return;
+        runNowAndAfterCommit(() -> endpoints.forEach(endpoint -> caches.get(endpoint).invalidateAll()));
+    }
+
+    private Cache<Object, Object> cache(String endpoint) {
+        Cache<Object, Object> cache = caches.get(endpoint);
+        if (cache == null) {
+            throw new IllegalArgumentException("Unknown dashboard endpoint: " + endpoint);
+        }
+        return cache;
+    }
+
+    // Same pattern as CatalogCache: evict now, and again once the write is visible
+    private void runNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
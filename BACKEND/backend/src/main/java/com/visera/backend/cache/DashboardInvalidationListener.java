@@ -0,0 +1,29 @@
+package com.visera.backend.cache;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on the entities the dashboards aggregate; any insert, update or
+ * delete drops the dependent cached responses. Hibernate obtains this listener
+ * from the Spring context, so it can be constructor-injected.
+ */
+@Component
+public class DashboardInvalidationListener {
+
+    private final DashboardCache dashboardCache;
+
+    public DashboardInvalidationListener(DashboardCache dashboardCache) {
+        this.dashboardCache = dashboardCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        dashboardCache.invalidateFor(Hibernate.getClass(entity));
+    }
+}
@@ -0,0 +1,32 @@
+package com.visera.backend.cache;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.Table;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on every entity the agentic-ai chat can query; records the
+ * entity's table as changed so its data version is bumped on commit.
+ */
+@Component
+public class DataChangeListener {
+
+    private final DataChangeVersions dataChangeVersions;
+
+    public DataChangeListener(DataChangeVersions dataChangeVersions) {
+        this.dataChangeVersions = dataChangeVersions;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        Table table = Hibernate.getClass(entity).getAnnotation(Table.class);
+        if (table != null) {
+            dataChangeVersions.record(table.name());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.visera.backend.cache;
+
+import com.visera.backend.Repository.DataChangeVersionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Publishes which tables changed by bumping their row in data_change_versions.
+ * Tables written in one transaction are collected and bumped together just before
+ * it commits, on the transaction's own connection: the new versions become
+ * visible in the same commit as the new data, and a rolled-back transaction
+ * bumps nothing. A failed bump fails the commit, so cached results can never
+ * outlive the data they were computed from.
+ */
+@Component
+public class DataChangeVersions implements TransactionExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(DataChangeVersions.class);
+
+    private final DataChangeVersionRepository repository;
+    // Resolved on first use: entity listeners are created while the EntityManagerFactory
+    // is still being built
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    public DataChangeVersions(DataChangeVersionRepository repository,
+                              ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.repository = repository;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    // Registered with the transaction manager. Hibernate flushes most changes during
+    // commit, after beforeCommit callbacks have been collected, so the collector has to
+    // exist before the first entity listener fires.
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null && !transaction.isReadOnly()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new PendingTables());
+        }
+    }
+
+    public void record(String tableName) {
+        PendingTables pending = currentPendingTables();
+        if (pending == null) {
+            // No transaction, or one the collector was not registered for
+            bump(Set.of(tableName));
+            return;
+        }
+        if (pending.tables.add(tableName) && pending.bumped) {
+            // Written by a synchronization that ran after ours; still inside the transaction
+            bump(Set.of(tableName));
+        }
+    }
+
+    private PendingTables currentPendingTables() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingTables pending && pending.owner() == this) {
+                return pending;
+            }
+        }
+        return null;
+    }
+
+    private void bump(Set<String> tables) {
+        try {
+            repository.bump(tables);
+        } catch (RuntimeException e) {
+            log.error("Failed to bump data change versions for {}", tables, e);
+            throw e;
+        }
+    }
+
+    private class PendingTables implements TransactionSynchronization {
+        private final Set<String> tables = new TreeSet<>();
+        private boolean bumped;
+
+        private DataChangeVersions owner() {
+            return DataChangeVersions.this;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Flush now so the entity listeners record their tables before the bump
+            EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager
+                    .getResource(entityManagerFactory.getObject());
+            if (holder != null) {
+                holder.getEntityManager().flush();
+            }
+            if (!tables.isEmpty()) {
+                bump(Set.copyOf(tables));
+            }
+            bumped = true;
+        }
+    }
+}
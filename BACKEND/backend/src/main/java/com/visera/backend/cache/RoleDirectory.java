@@ -0,0 +1,50 @@
+package com.visera.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.visera.backend.DTOs.UserRefView;
+import com.visera.backend.Repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Cached list of users per role, used to address role-wide notifications
+ * without querying the users table on every event. User writes invalidate it.
+ */
+@Component
+public class RoleDirectory {
+
+    private final LoadingCache<String, List<UserRefView>> usersByRole;
+
+    public RoleDirectory(UserRepository userRepository,
+                         CacheRegistry registry,
+                         @Value("${notifications.role-directory.ttl:PT10M}") Duration ttl) {
+        this.usersByRole = Caffeine.newBuilder()
+                .maximumSize(16)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(role -> List.copyOf(userRepository.findRefsByRole(role)));
+        registry.register("users.byRole", usersByRole);
+    }
+
+    public List<UserRefView> usersWithRole(String role) {
+        return usersByRole.get(role);
+    }
+
+    public void invalidate() {
+        usersByRole.invalidateAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    usersByRole.invalidateAll();
+                }
+            });
+        }
+    }
+}
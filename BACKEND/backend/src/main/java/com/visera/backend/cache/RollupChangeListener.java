@@ -0,0 +1,85 @@
+package com.visera.backend.cache;
+
+import com.visera.backend.Entity.Approval;
+import com.visera.backend.Entity.Shipment;
+import com.visera.backend.Entity.Task;
+import com.visera.backend.Entity.VerificationLog;
+import com.visera.backend.Repository.DailyRollupRepository;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * JPA listener on the source entities of daily_metric_rollups. A write to a row
+ * dated before today (a deleted shipment, a corrected verification) marks its
+ * day stale so DailyRollupJob rebuilds it. The mark is written on the
+ * transaction's own connection as the change is flushed, so it commits or rolls
+ * back with the change; each day is marked once per transaction.
+ */
+@Component
+public class RollupChangeListener {
+
+    private final DailyRollupRepository rollupRepository;
+
+    public RollupChangeListener(DailyRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        LocalDateTime at = metricTime(entity);
+        if (at == null || !at.toLocalDate().isBefore(LocalDate.now())) {
+            // Today is always read live
+            return;
+        }
+        LocalDate day = at.toLocalDate();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            MarkedDays marked = (MarkedDays) TransactionSynchronizationManager.getResource(this);
+            if (marked == null) {
+                marked = new MarkedDays();
+                TransactionSynchronizationManager.bindResource(this, marked);
+                TransactionSynchronizationManager.registerSynchronization(marked);
+            }
+            if (!marked.days.add(day)) {
+                return;
+            }
+        }
+        rollupRepository.markStale(day);
+    }
+
+    // The timestamp each rollup metric buckets the entity by
+    private static LocalDateTime metricTime(Object entity) {
+        if (entity instanceof Shipment shipment) {
+            return shipment.getCreatedAt();
+        }
+        if (entity instanceof Approval approval) {
+            return approval.getRequestedAt();
+        }
+        if (entity instanceof VerificationLog log) {
+            return log.getVerifiedAt();
+        }
+        if (entity instanceof Task task) {
+            return task.getCompletedAt();
+        }
+        return null;
+    }
+
+    private class MarkedDays implements TransactionSynchronization {
+        private final Set<LocalDate> days = new HashSet<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(RollupChangeListener.this);
+        }
+    }
+}
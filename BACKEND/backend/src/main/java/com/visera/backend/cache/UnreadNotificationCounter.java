@@ -0,0 +1,97 @@
+package com.visera.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.visera.backend.Repository.DataChangeVersionRepository;
+import com.visera.backend.Repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-user unread notification counts. A count is computed from the index and
+ * cached until that user's notifications change: any write here drops the entry
+ * after commit, so the next request recounts.
+ *
+ * Writes on other instances are noticed through the notifications row of
+ * data_change_versions: when it moves, every count is dropped, so a remote
+ * change is visible here within one poll interval.
+ */
+@Component
+public class UnreadNotificationCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(UnreadNotificationCounter.class);
+
+    private static final List<String> TABLES = List.of("notifications");
+
+    private final NotificationRepository notificationRepository;
+    private final DataChangeVersionRepository versionRepository;
+    private final Cache<Long, Long> counts;
+    private volatile Map<String, Long> seenVersions;
+
+    public UnreadNotificationCounter(NotificationRepository notificationRepository,
+                                     DataChangeVersionRepository versionRepository,
+                                     CacheRegistry registry,
+                                     @Value("${notifications.unread-count.max-size:10000}") long maxSize,
+                                     @Value("${notifications.unread-count.ttl:PT10M}") Duration ttl) {
+        this.notificationRepository = notificationRepository;
+        this.versionRepository = versionRepository;
+        this.counts = registry.register("notifications.unreadCount", Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+    }
+
+    public long get(Long userId) {
+        return counts.get(userId, notificationRepository::countUnreadByUserId);
+    }
+
+    public void invalidate(Long userId) {
+        afterCommit(() -> counts.invalidate(userId));
+    }
+
+    public void invalidate(Collection<Long> userIds) {
+        afterCommit(() -> counts.invalidateAll(userIds));
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.unread-count.version-poll-interval:PT5S}")
+    public void dropOnRemoteChange() {
+        Map<String, Long> versions;
+        try {
+            versions = versionRepository.findVersions(TABLES);
+        } catch (DataAccessException e) {
+            log.warn("Cannot read notification versions, keeping cached counts: {}", e.getMessage());
+            return;
+        }
+        Map<String, Long> previous = seenVersions;
+        seenVersions = versions;
+        // Local writes move the version too; their entries were already dropped
+        if (previous != null && !previous.equals(versions)) {
+            counts.invalidateAll();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.visera.backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.visera.backend.Entity.Product;
+import com.visera.backend.Entity.Sku;
+import com.visera.backend.cache.CacheRegistry;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache regions for Sku and Product, the one cache layer
+ * for catalog rows. The regions are Caffeine caches created here from the
+ * catalog.cache.* properties and registered with CacheRegistry, so they show up
+ * in /api/cache/stats. CatalogCache evicts them when another instance changes
+ * the catalog.
+ */
+@Configuration
+public class CatalogCacheConfig {
+
+    @Bean
+    public CacheManager catalogCacheManager(CacheRegistry registry,
+                                            @Value("${catalog.cache.sku-max-size:20000}") long skuMaxSize,
+                                            @Value("${catalog.cache.product-max-size:5000}") long productMaxSize,
+                                            @Value("${catalog.cache.expire-after-write:PT6H}") Duration expireAfterWrite) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        createRegion(cacheManager, registry, Sku.class, "catalog.skuById", skuMaxSize, expireAfterWrite);
+        createRegion(cacheManager, registry, Product.class, "catalog.productById", productMaxSize, expireAfterWrite);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer catalogCacheProperties(CacheManager catalogCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, catalogCacheManager);
+            // Every cached entity needs a region created above
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    // Entity regions are named after the entity class
+    private static void createRegion(CacheManager cacheManager, CacheRegistry registry, Class<?> entity,
+                                     String statsName, long maxSize, Duration expireAfterWrite) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        // Hibernate stores immutable cache entries; copying them on every read buys nothing
+        configuration.setStoreByValue(false);
+        configuration.setNativeStatisticsEnabled(true);
+        javax.cache.Cache<Object, Object> region = cacheManager.createCache(entity.getName(), configuration);
+        registry.register(statsName, region.unwrap(com.github.benmanes.caffeine.cache.Cache.class));
+    }
+}
@@ -0,0 +1,48 @@
+package com.visera.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    public static final String NOTIFICATION_FLUSH_SCHEDULER = "notificationFlushScheduler";
+
+    @Value("${spring.task.scheduling.pool.size:4}")
+    private int poolSize;
+
+    // Set explicitly: with the STOMP broker registered, Boot's own scheduler backs off and
+    // @Scheduled jobs would otherwise land on the broker's heartbeat scheduler.
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.setTaskScheduler(taskScheduler());
+    }
+
+    // Shared by the daily rollup, notification retention and the catalog and notification
+    // version polls.
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduling-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(10);
+        return scheduler;
+    }
+
+    // The notification flush runs every few hundred milliseconds, so it gets its own thread
+    // and is never held up behind a rollup rebuild or a retention purge.
+    @Bean(name = NOTIFICATION_FLUSH_SCHEDULER)
+    public ThreadPoolTaskScheduler notificationFlushScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("notify-flush-");
+        return scheduler;
+    }
+}
@@ -0,0 +1,49 @@
+package com.visera.backend.config;
+
+import com.visera.backend.security.CustomUserDetails;
+import com.visera.backend.security.TokenPrincipalCache;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticates the STOMP CONNECT frame with the same bearer token the REST API
+ * uses. The resulting principal (named by email) is what /user/queue/...
+ * destinations resolve against.
+ */
+@Component
+public class WebSocketAuthInterceptor implements ChannelInterceptor {
+
+    private final TokenPrincipalCache tokenPrincipalCache;
+
+    public WebSocketAuthInterceptor(TokenPrincipalCache tokenPrincipalCache) {
+        this.tokenPrincipalCache = tokenPrincipalCache;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || !StompCommand.CONNECT.equals(accessor.getCommand())) {
+            return message;
+        }
+
+        String authHeader = accessor.getFirstNativeHeader("Authorization");
+        CustomUserDetails userDetails = null;
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            userDetails = tokenPrincipalCache.resolve(authHeader.substring(7));
+        }
+        if (userDetails == null) {
+            throw new MessageDeliveryException("WebSocket CONNECT requires a valid bearer token");
+        }
+
+        accessor.setUser(new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities()));
+        return message;
+    }
+}
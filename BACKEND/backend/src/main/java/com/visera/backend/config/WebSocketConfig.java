@@ -1,21 +1,113 @@
 package com.visera.backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final WebSocketAuthInterceptor webSocketAuthInterceptor;
+
+    // "simple" = in-memory broker (single instance), "relay" = external STOMP broker
+    @Value("${websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${websocket.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${websocket.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${websocket.broker.relay.virtual-host:/}")
+    private String relayVirtualHost;
+
+    @Value("${websocket.broker.relay.client-login:guest}")
+    private String relayClientLogin;
+
+    @Value("${websocket.broker.relay.client-passcode:guest}")
+    private String relayClientPasscode;
+
+    @Value("${websocket.broker.relay.system-login:guest}")
+    private String relaySystemLogin;
+
+    @Value("${websocket.broker.relay.system-passcode:guest}")
+    private String relaySystemPasscode;
+
+    @Value("${websocket.broker.relay.heartbeat-send-ms:10000}")
+    private long relayHeartbeatSend;
+
+    @Value("${websocket.broker.relay.heartbeat-receive-ms:10000}")
+    private long relayHeartbeatReceive;
+
+    @Value("${websocket.broker.channel.pool-size:4}")
+    private int brokerChannelPoolSize;
+
+    @Value("${websocket.broker.channel.queue-capacity:1000}")
+    private int brokerChannelQueueCapacity;
+
+    @Value("${websocket.transport.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${websocket.transport.send-time-limit-ms:10000}")
+    private int sendTimeLimit;
+
+    @Value("${websocket.transport.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    @Value("${websocket.outbound.pool-size:4}")
+    private int outboundPoolSize;
+
+    @Value("${websocket.outbound.queue-capacity:1000}")
+    private int outboundQueueCapacity;
+
+    public WebSocketConfig(WebSocketAuthInterceptor webSocketAuthInterceptor) {
+        this.webSocketAuthInterceptor = webSocketAuthInterceptor;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Enable a simple in-memory message broker to carry messages back to the client
-        config.enableSimpleBroker("/topic");
+        // /topic is for role-wide broadcasts, /queue for per-user messages. Destinations
+        // below the prefix use "." separators (/topic/notifications.supervisors): RabbitMQ
+        // turns them into routing keys and rejects further "/" in /topic destinations
+        config.setPathMatcher(new AntPathMatcher("."));
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            // External broker shared by every backend instance, so a message published on
+            // one node reaches clients connected to any other node
+            config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setVirtualHost(relayVirtualHost)
+                    .setClientLogin(relayClientLogin)
+                    .setClientPasscode(relayClientPasscode)
+                    .setSystemLogin(relaySystemLogin)
+                    .setSystemPasscode(relaySystemPasscode)
+                    .setSystemHeartbeatSendInterval(relayHeartbeatSend)
+                    .setSystemHeartbeatReceiveInterval(relayHeartbeatReceive)
+                    // Share which node holds each user's sessions, and hand user messages
+                    // that could not be resolved locally to the other nodes
+                    .setUserRegistryBroadcast("/topic/simp-user-registry")
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination");
+        } else {
+            // Enable a simple in-memory message broker to carry messages back to the client
+            config.enableSimpleBroker("/topic", "/queue");
+        }
+        // Threads forwarding application messages to the broker (or relay connections)
+        config.configureBrokerChannel().taskExecutor()
+                .corePoolSize(brokerChannelPoolSize)
+                .maxPoolSize(brokerChannelPoolSize)
+                .queueCapacity(brokerChannelQueueCapacity);
         // Prefix for messages from client to server
         config.setApplicationDestinationPrefixes("/app");
+        // /user/queue/... subscriptions are resolved against the session's principal
+        config.setUserDestinationPrefix("/user");
     }
 
     @Override
@@ -25,8 +117,29 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
     }
-}
-
 
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // Bind the JWT principal to the session on CONNECT
+        registration.interceptors(webSocketAuthInterceptor);
+    }
 
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // A session whose client stops reading is closed once its buffered frames
+        // exceed the size limit or a send blocks longer than the time limit,
+        // instead of holding up the outbound channel for everyone else
+        registration.setSendBufferSizeLimit(sendBufferSizeLimit);
+        registration.setSendTimeLimit(sendTimeLimit);
+        registration.setMessageSizeLimit(messageSizeLimit);
+    }
 
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // Bounded pool and queue for frames going out to clients
+        registration.taskExecutor()
+                .corePoolSize(outboundPoolSize)
+                .maxPoolSize(outboundPoolSize)
+                .queueCapacity(outboundQueueCapacity);
+    }
+}
@@ -0,0 +1,7 @@
+package com.visera.backend.event;
+
+/**
+ * Published when a verification mismatch opens an approval request.
+ */
+public record ApprovalCreatedEvent(Long approvalId) {
+}
@@ -0,0 +1,8 @@
+package com.visera.backend.event;
+
+/**
+ * Published when a worker reports an issue. The listener looks the reporter
+ * name up itself, off the request thread.
+ */
+public record IssueReportedEvent(Long issueId) {
+}
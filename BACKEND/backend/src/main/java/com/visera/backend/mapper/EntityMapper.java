@@ -6,6 +6,7 @@ import com.visera.backend.Repository.ShipmentItemRepository;
 import com.visera.backend.Repository.ShipmentWorkerRepository;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -123,6 +124,7 @@ public class EntityMapper {
         dto.setMessage(n.getMessage());
         dto.setType(n.getType());
         dto.setRead(n.isRead());
+        dto.setCreatedAt(n.getCreatedAt());
         return dto;
     }
 
@@ -218,6 +220,30 @@ public class EntityMapper {
         return dto;
     }
 
+    public SkuDTO toSkuDTO(SkuInventoryView view) {
+        SkuDTO dto = new SkuDTO();
+        dto.setId(view.getId());
+        dto.setSkuCode(view.getSkuCode());
+        dto.setColor(view.getColor());
+        dto.setDimensions(view.getDimensions());
+        dto.setWeight(view.getWeight());
+        // Defensive null check for product relationship
+        if (view.getProductId() != null) {
+            dto.setProductId(view.getProductId());
+            dto.setProductName(view.getProductName());
+        } else {
+            dto.setProductId(0L);
+            dto.setProductName("Unknown Product");
+        }
+
+        int totalQuantity = view.getTotalQuantity() != null ? view.getTotalQuantity().intValue() : 0;
+        dto.setTotalQuantity(totalQuantity);
+        dto.setBinLocation(view.getBinLocation() != null ? view.getBinLocation() : "-");
+        // Low Stock if quantity < 50, otherwise In Stock
+        dto.setStatus(totalQuantity > 0 ? (totalQuantity < 50 ? "Low Stock" : "In Stock") : "Out of Stock");
+        return dto;
+    }
+
     public PutawayItemDTO toPutawayItemDTO(Task task) {
         PutawayItemDTO dto = new PutawayItemDTO();
         dto.setId(task.getId());
@@ -426,9 +452,11 @@ public class EntityMapper {
             dto.setShipmentId(issue.getShipment().getId());
         }
         
-        // Reporter information
+        // Reporter information; a new issue holds only a reference, which is not loaded just for the DTO
         User reportedBy = issue.getReportedBy();
-        if (reportedBy != null) {
+        if (reportedBy != null && !Hibernate.isInitialized(reportedBy)) {
+            dto.setReportedById(reportedBy.getId());
+        } else if (reportedBy != null) {
             dto.setReportedById(reportedBy.getId());
             dto.setReportedByName(reportedBy.getName());
             dto.setReportedByEmail(reportedBy.getEmail());
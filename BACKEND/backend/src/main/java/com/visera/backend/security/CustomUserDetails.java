@@ -10,38 +10,54 @@ import java.util.List;
 
 public class CustomUserDetails implements UserDetails {
 
-    private final User user;
+    private final Long id;
+    private final String email;
+    private final String role;
+    private final String password;
+    private final List<GrantedAuthority> authorities;
 
     public CustomUserDetails(User user) {
-        this.user = user;
+        this(user.getId(), user.getEmail(), user.getRole(), user.getPassword());
     }
 
-    public int getId() {
-        return user.getId().intValue();
+    /**
+     * Principal rebuilt from verified token claims; it carries no password.
+     */
+    public CustomUserDetails(Long id, String email, String role) {
+        this(id, email, role, null);
+    }
+
+    private CustomUserDetails(Long id, String email, String role, String password) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.password = password;
+        // Spring Security expects roles as "ROLE_ADMIN", "ROLE_SUPERVISOR", etc.
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    public Long getUserId() {
+        return id;
     }
 
     public String getRole() {
-        return user.getRole();
+        return role;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        // Spring Security expects roles as "ROLE_ADMIN", "ROLE_SUPERVISOR", etc.
-        return java.util.Collections.singletonList(
-                new SimpleGrantedAuthority("ROLE_" + user.getRole())
-        );
-
+        return authorities;
     }
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
         // we use email as username
-        return user.getEmail();
+        return email;
     }
 
     @Override
@@ -15,19 +15,28 @@ public class JwtUtil {
     private static final String SECRET = "visera_super_secret_jwt_key_123456789";
     private static final long EXPIRATION_MS = 1000 * 60 * 60; // 1 hour
 
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_USER_ID = "uid";
+
     private final Key key;
+    // Immutable and thread-safe, so one instance serves every request
+    private final JwtParser parser;
 
     public JwtUtil() {
         this.key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .setSigningKey(key)
+                .build();
     }
 
-    public String generateToken(String email, String role) {
+    public String generateToken(Long userId, String email, String role) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + EXPIRATION_MS);
 
         return Jwts.builder()
                 .setSubject(email)
-                .claim("role", role)
+                .claim(CLAIM_ROLE, role)
+                .claim(CLAIM_USER_ID, userId)
                 .setIssuedAt(now)
                 .setExpiration(expiry)
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -39,7 +48,7 @@ public class JwtUtil {
     }
 
     public String extractRole(String token) {
-        return extractAllClaims(token).get("role", String.class);
+        return extractAllClaims(token).get(CLAIM_ROLE, String.class);
     }
 
     public boolean isTokenValid(String token) {
@@ -53,11 +62,19 @@ public class JwtUtil {
         }
     }
 
+    /**
+     * Verifies the token and returns its claims in a single parse, or null when
+     * the token is expired, malformed or not signed with our key.
+     */
+    public Claims parseValidClaims(String token) {
+        try {
+            return extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 }
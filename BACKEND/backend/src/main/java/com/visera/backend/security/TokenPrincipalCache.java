@@ -0,0 +1,105 @@
+package com.visera.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.visera.backend.cache.CacheRegistry;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache from token hash to the principal verified for that token. Each
+ * entry expires together with its token, so a hit never outlives the signature
+ * check it stands in for. Only the SHA-256 of the token is kept as the key.
+ */
+@Component
+public class TokenPrincipalCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final JwtUtil jwtUtil;
+    private final CustomUserDetailsService userDetailsService;
+    private final Cache<String, VerifiedToken> cache;
+
+    public TokenPrincipalCache(JwtUtil jwtUtil,
+                               CustomUserDetailsService userDetailsService,
+                               CacheRegistry registry,
+                               @Value("${security.jwt.cache-max-size:10000}") long maxSize) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.cache = registry.register("auth.tokenPrincipal", Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build());
+    }
+
+    /**
+     * Returns the principal for a valid token, or null when the token does not verify.
+     */
+    public CustomUserDetails resolve(String token) {
+        String key = hash(token);
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached.principal();
+        }
+
+        Claims claims = jwtUtil.parseValidClaims(token);
+        if (claims == null || claims.getExpiration() == null) {
+            return null;
+        }
+
+        CustomUserDetails principal = toPrincipal(claims);
+        cache.put(key, new VerifiedToken(principal, claims.getExpiration().getTime()));
+        return principal;
+    }
+
+    private CustomUserDetails toPrincipal(Claims claims) {
+        Number userId = claims.get(JwtUtil.CLAIM_USER_ID, Number.class);
+        String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+        if (userId != null && role != null) {
+            return new CustomUserDetails(userId.longValue(), claims.getSubject(), role);
+        }
+        // Tokens issued before the user id claim existed: resolve the user once, then cache
+        return (CustomUserDetails) userDetailsService.loadUserByUsername(claims.getSubject());
+    }
+
+    private static String hash(String token) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private record VerifiedToken(CustomUserDetails principal, long expiresAtMillis) {}
+
+    private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,5 @@
+-- Index for the paginated approval queue (status filter, oldest request first)
+-- Run this script on your MySQL database: visera_db
+
+CREATE INDEX idx_approvals_status_requested
+    ON approvals (status, requested_at);
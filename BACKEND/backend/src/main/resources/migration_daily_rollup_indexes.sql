@@ -0,0 +1,19 @@
+-- Timestamp indexes for the daily rollup aggregates, and the queue of days to rebuild
+-- Run this script on your MySQL database: visera_db
+
+CREATE INDEX idx_shipments_created
+    ON shipments (created_at);
+
+CREATE INDEX idx_approvals_type_requested
+    ON approvals (type, requested_at);
+
+CREATE INDEX idx_verification_logs_verified
+    ON verification_logs (verified_at);
+
+CREATE INDEX idx_tasks_status_completed
+    ON tasks (status, completed_at);
+
+CREATE TABLE IF NOT EXISTS rollup_stale_days (
+    metric_day DATE PRIMARY KEY,
+    marked_at DATETIME(6) NOT NULL
+);
@@ -0,0 +1,21 @@
+-- Daily reporting rollups and their watermark
+-- Run this script on your MySQL database: visera_db
+-- The first scheduled run (or POST /api/reports/rollups/rebuild) backfills history.
+
+CREATE TABLE IF NOT EXISTS daily_metric_rollups (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    metric_day DATE NOT NULL,
+    metric VARCHAR(40) NOT NULL,
+    dimension VARCHAR(40) NOT NULL,
+    worker_id BIGINT NOT NULL,
+    event_count BIGINT NOT NULL,
+    value_sum DOUBLE NOT NULL,
+    value_count BIGINT NOT NULL,
+    UNIQUE KEY uk_daily_metric_rollups (metric_day, metric, dimension, worker_id)
+);
+
+CREATE TABLE IF NOT EXISTS rollup_watermarks (
+    name VARCHAR(40) PRIMARY KEY,
+    rolled_through DATE NOT NULL,
+    updated_at DATETIME(6) NOT NULL
+);
@@ -0,0 +1,9 @@
+-- Per-table write counters polled by the agentic-ai query-result cache
+-- Run this script on your MySQL database: visera_db
+-- Rows are created on the first write to each table.
+
+CREATE TABLE IF NOT EXISTS data_change_versions (
+    table_name VARCHAR(64) PRIMARY KEY,
+    version BIGINT NOT NULL,
+    updated_at DATETIME(6) NOT NULL
+);
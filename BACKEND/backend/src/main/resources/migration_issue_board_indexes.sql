@@ -0,0 +1,8 @@
+-- Indexes for the keyset-paginated issue board (newest first, optionally by status)
+-- Run this script on your MySQL database: visera_db
+
+CREATE INDEX idx_issues_status_created
+    ON issues (status, created_at);
+
+CREATE INDEX idx_issues_created
+    ON issues (created_at);
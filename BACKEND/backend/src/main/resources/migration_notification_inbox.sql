@@ -0,0 +1,5 @@
+-- Index for the unread-first notification inbox, unread counts and retention purge
+-- Run this script on your MySQL database: visera_db
+
+CREATE INDEX idx_notifications_user_read_created
+    ON notifications (user_id, is_read, created_at);
@@ -0,0 +1,5 @@
+-- Index for listing and counting shipments by status (agentic-ai chat intents)
+-- Run this script on your MySQL database: visera_db
+
+CREATE INDEX idx_shipments_status_created
+    ON shipments (status, created_at);
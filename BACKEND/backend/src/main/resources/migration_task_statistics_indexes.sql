@@ -0,0 +1,8 @@
+-- Indexes for the worker putaway/picking statistics aggregates
+-- Run this script on your MySQL database: visera_db
+
+CREATE INDEX idx_tasks_user_type_status_created
+    ON tasks (user_id, task_type, status, created_at);
+
+CREATE INDEX idx_shipment_items_status
+    ON shipment_items (status);
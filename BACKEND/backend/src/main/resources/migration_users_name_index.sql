@@ -0,0 +1,5 @@
+-- Index for looking workers up by name (agentic-ai "pending tasks of <worker>" intent)
+-- Run this script on your MySQL database: visera_db
+
+CREATE INDEX idx_users_name
+    ON users (name);
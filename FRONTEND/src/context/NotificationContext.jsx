@@ -1,6 +1,6 @@
 import { createContext, useContext, useState, useEffect, useCallback } from 'react';
 import { connectWebSocket, disconnectWebSocket } from '../services/websocketService';
-import { getNotificationsByUser } from '../services/notificationService';
+import { getUnreadCount } from '../services/notificationService';
 import { getUserId, getRole, isAuthenticated } from '../services/authService';
 
 const NotificationContext = createContext(null);
@@ -23,10 +23,9 @@ export function NotificationProvider({ children, addToast }) {
       const userId = getUserId();
       if (!userId) return;
 
-      const notifications = await getNotificationsByUser(parseInt(userId));
-      // DTO uses 'read' field (boolean)
-      const unread = notifications.filter((n) => !n.read);
-      setUnreadCount(unread.length);
+      // Server-side counter instead of downloading every notification to count them
+      const count = await getUnreadCount();
+      setUnreadCount(count);
     } catch (error) {
       console.error('Error fetching notification count:', error);
     }
@@ -85,8 +84,8 @@ export function NotificationProvider({ children, addToast }) {
         });
       }
 
-      // Increment unread count
-      setUnreadCount((prev) => prev + 1);
+      // Increment unread count (digest frames stand for several notifications)
+      setUnreadCount((prev) => prev + (notification.count || 1));
     };
 
     const handleWebSocketError = (error) => {
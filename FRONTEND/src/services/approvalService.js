@@ -20,3 +20,23 @@ export const rejectRequest = async (approvalId, reason) => {
 
 
 
+
+// filters: { status, type, skuId, shipmentId, requestedById, from, to } (dates as yyyy-MM-dd)
+export const getApprovalQueue = async ({ page = 0, size = 50, ...filters } = {}) => {
+  const params = { page, size };
+  Object.entries(filters).forEach(([key, value]) => {
+    if (value !== undefined && value !== null && value !== "") params[key] = value;
+  });
+  const response = await api.get("/api/approvals/queue", { params });
+  return response.data;
+};
+
+// action: "APPROVE" or "REJECT"; reason is only used when rejecting
+export const reviewApprovalsBatch = async (approvalIds, action, reason) => {
+  const response = await api.post("/api/approvals/batch", {
+    approvalIds,
+    action,
+    reason,
+  });
+  return response.data;
+};
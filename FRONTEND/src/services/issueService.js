@@ -11,6 +11,14 @@ export const getAllIssues = async (status = null) => {
   return response.data;
 };
 
+export const getIssueBoard = async ({ status = null, cursor = null, limit = 50 } = {}) => {
+  const params = { limit };
+  if (status) params.status = status;
+  if (cursor) params.cursor = cursor;
+  const response = await api.get('/api/issues/board', { params });
+  return response.data;
+};
+
 export const getIssueById = async (id) => {
   const response = await api.get(`/api/issues/${id}`);
   return response.data;
@@ -19,3 +19,20 @@ export const createNotification = async (notificationData) => {
   const response = await api.post('/api/notifications/create', notificationData);
   return response.data;
 };
+
+export const getUnreadCount = async () => {
+  const response = await api.get('/api/notifications/me/unread-count');
+  return response.data.count;
+};
+
+export const getInbox = async ({ cursor = null, limit = 20, unreadOnly = false } = {}) => {
+  const params = { limit, unreadOnly };
+  if (cursor) params.cursor = cursor;
+  const response = await api.get('/api/notifications/me/inbox', { params });
+  return response.data;
+};
+
+export const markAllNotificationsRead = async () => {
+  const response = await api.patch('/api/notifications/me/read-all');
+  return response.data;
+};
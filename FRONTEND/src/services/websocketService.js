@@ -1,5 +1,6 @@
 import SockJS from 'sockjs-client';
 import { env } from '../config/env';
+import { getToken } from './authService';
 
 let Stomp = null;
 let stompClient = null;
@@ -39,8 +40,13 @@ export async function connectWebSocket(onMessageCallback, onErrorCallback, role
   // Disable debug logging
   stompClient.debug = null;
 
+  // The server binds this token's user to the session, which is what
+  // /user/queue/... destinations are delivered to
+  const token = getToken();
+  const connectHeaders = token ? { Authorization: `Bearer ${token}` } : {};
+
   stompClient.connect(
-    {},
+    connectHeaders,
     () => {
       // Connection successful
       reconnectAttempts = 0;
@@ -49,7 +55,7 @@ export async function connectWebSocket(onMessageCallback, onErrorCallback, role
       // Subscribe based on role
       if (role === 'SUPERVISOR') {
         // Subscribe to supervisor notifications
-        stompClient.subscribe('/topic/notifications/supervisors', (message) => {
+        stompClient.subscribe('/topic/notifications.supervisors', (message) => {
           try {
             const notification = JSON.parse(message.body);
             onMessageCallback(notification);
@@ -57,19 +63,18 @@ export async function connectWebSocket(onMessageCallback, onErrorCallback, role
             console.error('Error parsing WebSocket message:', error);
           }
         });
-        console.log('Subscribed to /topic/notifications/supervisors');
+        console.log('Subscribed to /topic/notifications.supervisors');
       } else if (role === 'WORKER') {
-        // Subscribe to worker notifications
-        stompClient.subscribe('/topic/notifications/workers', (message) => {
+        // Subscribe to this worker's own queue; the server only sends it their assignments
+        stompClient.subscribe('/user/queue/notifications', (message) => {
           try {
             const notification = JSON.parse(message.body);
-            // Filtering by workerId is handled in NotificationContext
             onMessageCallback(notification);
           } catch (error) {
             console.error('Error parsing WebSocket message:', error);
           }
         });
-        console.log('Subscribed to /topic/notifications/workers');
+        console.log('Subscribed to /user/queue/notifications');
       }
     },
     (error) => {